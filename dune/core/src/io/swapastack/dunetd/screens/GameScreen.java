@@ -28,6 +28,7 @@ import io.swapastack.dunetd.world.GameWorld;
 import io.swapastack.dunetd.world.handlers.BuyingHandler;
 import io.swapastack.dunetd.world.handlers.PhaseHandler;
 import io.swapastack.dunetd.world.handlers.WaveHandler;
+import io.swapastack.dunetd.world.placeable.turret.TargetingStrategy;
 import net.mgsx.gltf.scene3d.attributes.PBRCubemapAttribute;
 import net.mgsx.gltf.scene3d.attributes.PBRTextureAttribute;
 import net.mgsx.gltf.scene3d.lights.DirectionalLightEx;
@@ -89,6 +90,7 @@ public class GameScreen implements Screen {
 
     // Buying Selection
     private final ImInt tower = new ImInt(0);
+    private final ImInt targeting = new ImInt(0);
 
     // End game and button at the end
     private final Skin skin = new Skin(Gdx.files.internal("glassy/skin/glassy-ui.json"));
@@ -253,6 +255,8 @@ public class GameScreen implements Screen {
 
             ImGui.begin("Performance", ImGuiWindowFlags.AlwaysAutoResize);
             ImGui.text(String.format(Locale.US, "deltaTime: %1.6f", delta));
+            ImGui.text("path cache hits/misses: " + world.getField().getPathCacheHits() + " / " + world.getField().getPathCacheMisses());
+            ImGui.text("target searches: " + world.getTargetSearches());
             ImGui.end();
 
             ImGui.begin("Menu", ImGuiWindowFlags.AlwaysAutoResize);
@@ -286,6 +290,14 @@ public class GameScreen implements Screen {
 
                 ImGui.radioButton("sell turret", tower, 4);
 
+                ImGui.text("");
+                ImGui.text("targeting of new gun- and bombturrets:");
+                ImGui.radioButton("default", targeting, 0);
+                TargetingStrategy[] strategies = TargetingStrategy.values();
+                for (int i = 0; i < strategies.length; i++) {
+                    ImGui.radioButton(strategies[i].name().toLowerCase(Locale.US).replace('_', ' '), targeting, i + 1);
+                }
+
             }
 
             ImGui.text("");
@@ -305,6 +317,7 @@ public class GameScreen implements Screen {
             ImGui.text("");
             ImGui.text("remaining building phase time: " + phaseHandler.countdown + "s / " + phaseHandler.durationInS + "s");
             ImGui.text("wave number: " + waveHandler.currentWave);
+            ImGui.text("undefended path tiles: " + world.getUndefendedPathTiles());
 
             ImGui.end();
 
@@ -495,6 +508,15 @@ public class GameScreen implements Screen {
         return tower.get();
     }
 
+    /**
+     * Returns the targeting strategy for new turrets, which is currently selected in the buying-menu
+     *
+     * @return the selected strategy or null for the default strategy of the turret
+     */
+    public TargetingStrategy getTargeting() {
+        return targeting.get() == 0 ? null : TargetingStrategy.values()[targeting.get() - 1];
+    }
+
     /**
      * Ends the current game, the render method will not be called anymore for the sceneManager and other updatin methods.
      * Adds a button to get back to the main menu and show the score the player earned during the game.
@@ -68,6 +68,8 @@ public class MainMenuScreen implements Screen {
 
     public static final ImInt height = new ImInt(6);
     public static final ImInt width = new ImInt(6);
+    public static final ImInt spawnPortals = new ImInt(1);
+    public static final ImInt exitPortals = new ImInt(1);
 
     public static final ImInt playerLife = new ImInt(100);
     public static final ImInt startSpice = new ImInt(50);
@@ -104,12 +106,14 @@ public class MainMenuScreen implements Screen {
     public static final ImInt gunturretDamage = new ImInt(7);
     public static final ImInt bombturretDamage = new ImInt(10);
     public static final ImInt slowPercentage = new ImInt(60);
+    public static final ImInt slowStacks = new ImInt(1);
 
     public static final ImInt bulletSpeed = new ImInt(60);
     public static final ImInt bombSpeed = new ImInt(60);
 
     public static final ImFloat gunturretFrequence = new ImFloat(3f);
     public static final ImFloat bombturretFrequence = new ImFloat(1f);
+    public static final ImInt retargetInterval = new ImInt(500);
 
 
 
@@ -319,6 +323,20 @@ public class MainMenuScreen implements Screen {
             width.set(3);
         }
 
+        ImGui.inputInt("spawn portals", spawnPortals);
+        if (spawnPortals.get() < 1) {
+            spawnPortals.set(1);
+        } else if (spawnPortals.get() > height.get()) {
+            spawnPortals.set(height.get());
+        }
+
+        ImGui.inputInt("exit portals", exitPortals);
+        if (exitPortals.get() < 1) {
+            exitPortals.set(1);
+        } else if (exitPortals.get() > height.get()) {
+            exitPortals.set(height.get());
+        }
+
         ImGui.inputInt("player life", playerLife);
         if(playerLife.get() < 1) {
             playerLife.set(1);
@@ -420,6 +438,11 @@ public class MainMenuScreen implements Screen {
         }
 
 
+        ImGui.inputInt("retarget interval in ms", retargetInterval);
+        if (retargetInterval.get() < 0) {
+            retargetInterval.set(0);
+        }
+
         if (ImGui.collapsingHeader("gunturret")) {
             ImGui.inputInt("gunturret cost", gunturretCost);
             if (gunturretCost.get() < 1) {
@@ -494,6 +517,11 @@ public class MainMenuScreen implements Screen {
             if (slowPercentage.get() > 99) {
                 slowPercentage.set(99);
             }
+
+            ImGui.inputInt("stacking slows", slowStacks);
+            if (slowStacks.get() < 1) {
+                slowStacks.set(1);
+            }
         }
 
         if (ImGui.collapsingHeader("thumper")) {
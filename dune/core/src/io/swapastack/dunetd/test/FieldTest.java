@@ -1,11 +1,16 @@
 package io.swapastack.dunetd.test;
 
 import io.swapastack.dunetd.world.field.Field;
+import io.swapastack.dunetd.world.field.FlowField;
+import io.swapastack.dunetd.world.field.PackedPath;
 import org.junit.jupiter.api.Test;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,10 +19,10 @@ class FieldTest {
     @Test
     void towerPlaceable() {
         Field field = new Field(1,2);
-        field.mannedTiles[0][0] = true;
+        field.setManned(0, 0);
 
-        assertTrue(field.mannedTiles[0][0]);
-        assertFalse(field.mannedTiles[1][0]);
+        assertTrue(field.isManned(0, 0));
+        assertFalse(field.isManned(1, 0));
     }
 
     @Test
@@ -38,11 +43,11 @@ class FieldTest {
         {false, true,  false, true }
         {false, false, false, true }
          */
-        field.mannedTiles[2][0] = true;
-        field.mannedTiles[1][1] = true;
-        field.mannedTiles[1][2] = true;
-        field.mannedTiles[3][2] = true;
-        field.mannedTiles[3][3] = true;
+        field.setManned(2, 0);
+        field.setManned(1, 1);
+        field.setManned(1, 2);
+        field.setManned(3, 2);
+        field.setManned(3, 3);
 
         assertEquals(fastestPath, field.findWay(startPoint, endPoint));
 
@@ -71,10 +76,10 @@ class FieldTest {
         {false, true,  false, false}
         {false, false, false, true }
          */
-        field.mannedTiles[2][0] = true;
-        field.mannedTiles[1][1] = true;
-        field.mannedTiles[1][2] = true;
-        field.mannedTiles[3][3] = true;
+        field.setManned(2, 0);
+        field.setManned(1, 1);
+        field.setManned(1, 2);
+        field.setManned(3, 3);
 
         assertTrue(fastestPath.equals(field.findWay(startPoint, endPoint)) || fastestPath2.equals(field.findWay(startPoint, endPoint)));
     }
@@ -102,11 +107,264 @@ class FieldTest {
         {false, true,  false, false}
         {true, false, false, false}
          */
-        field.mannedTiles[2][0] = true;
-        field.mannedTiles[1][1] = true;
-        field.mannedTiles[1][2] = true;
-        field.mannedTiles[0][3] = true;
+        field.setManned(2, 0);
+        field.setManned(1, 1);
+        field.setManned(1, 2);
+        field.setManned(0, 3);
 
         assertEquals(field.findWay(startPoint, endPoint).size(), 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findWayOnLargeField() {
+        Field field = new Field(100,100);
+        Point startPoint = new Point(0,0);
+        Point endPoint = new Point(99,98);
+
+        //portals are manned in the game world, but are always part of the path
+        field.setManned(0, 0);
+        field.setManned(99, 98);
+
+        //walls with a gap at alternating ends, so the path has to walk through every row
+        for (int i = 1; i<99; i+=2) {
+            for (int k = 0; k<99; k++) {
+                if (i % 4 == 1) {
+                    field.setManned(k, i);
+                } else {
+                    field.setManned(k+1, i);
+                }
+            }
+        }
+
+        List<Point> path = field.findWay(startPoint, endPoint);
+
+        assertEquals(startPoint, path.get(0));
+        assertEquals(endPoint, path.get(path.size()-1));
+        assertEquals(49*99 + 49*2 + 1, path.size());
+    }
+
+    @Test
+    void repairPathAfterChanges() {
+        Field field = new Field(12,15);
+        Point startPoint = new Point(0,4);
+        Point endPoint = new Point(14,7);
+        Random random = new Random(42);
+
+        field.setManned(startPoint.x, startPoint.y);
+        field.setManned(endPoint.x, endPoint.y);
+        field.findWay(startPoint, endPoint);
+
+        for (int i = 0; i<400; i++) {
+            int x = random.nextInt(15);
+            int y = random.nextInt(12);
+            if ((x == startPoint.x && y == startPoint.y) || (x == endPoint.x && y == endPoint.y)) {
+                continue;
+            }
+            if (field.isManned(x, y)) {
+                field.setUnmanned(x, y);
+            } else {
+                field.setManned(x, y);
+            }
+
+            //a new field searches from scratch
+            Field newField = new Field(12,15);
+            newField.restore(field.getSnapshot());
+
+            List<Point> path = field.findWay(startPoint, endPoint);
+            assertEquals(newField.findWay(startPoint, endPoint).size(), path.size());
+
+            //every step of the repaired path has to be a free neighbor
+            for (int k = 1; k<path.size(); k++) {
+                assertEquals(1, Math.abs(path.get(k).x - path.get(k-1).x) + Math.abs(path.get(k).y - path.get(k-1).y));
+                if (k < path.size()-1) {
+                    assertFalse(field.isManned(path.get(k).x, path.get(k).y));
+                }
+            }
+        }
+    }
+
+    @Test
+    void flowFieldFollowsChanges() {
+        Field field = new Field(4,4);
+        Point startPoint = new Point(0,0);
+        Point endPoint = new Point(3,0);
+        FlowField flowField = field.getFlowField(endPoint);
+
+        field.setManned(startPoint.x, startPoint.y);
+        field.setManned(endPoint.x, endPoint.y);
+        assertEquals(3, flowField.getDistance(startPoint.x, startPoint.y));
+
+        //block the straight way, the flow field leads around the new turret
+        field.setManned(2, 0);
+        field.setManned(1, 1);
+        assertEquals(7, flowField.getDistance(startPoint.x, startPoint.y));
+
+        Point tile = new Point(startPoint);
+        ArrayList<Point> steps = new ArrayList<>();
+        steps.add(new Point(tile));
+        while (flowField.nextStep(tile)) {
+            steps.add(new Point(tile));
+        }
+        assertEquals(field.findWay(startPoint, endPoint), steps);
+
+        //sell the turret again
+        field.setUnmanned(2, 0);
+        assertEquals(3, flowField.getDistance(startPoint.x, startPoint.y));
+    }
+
+    @Test
+    void cachePathsOfOneGeneration() {
+        Field field = new Field(4,4);
+        Point startPoint = new Point(0,0);
+        Point endPoint = new Point(3,0);
+        field.setManned(startPoint.x, startPoint.y);
+        field.setManned(endPoint.x, endPoint.y);
+
+        List<Point> path = field.findWay(startPoint, endPoint);
+        assertSame(path, field.findWay(startPoint, endPoint));
+        assertEquals(1, field.getPathCacheHits());
+        assertEquals(1, field.getPathCacheMisses());
+        assertThrows(UnsupportedOperationException.class, () -> path.add(new Point(1,1)));
+
+        //only the last query is kept
+        field.findWay(endPoint, startPoint);
+        assertNotSame(path, field.findWay(startPoint, endPoint));
+        assertEquals(3, field.getPathCacheMisses());
+
+        //manning an already manned tile keeps the generation
+        int generation = field.getGeneration();
+        field.setManned(startPoint.x, startPoint.y);
+        assertEquals(generation, field.getGeneration());
+
+        //a new turret starts a new generation
+        field.setManned(2, 0);
+        assertNotEquals(generation, field.getGeneration());
+        assertEquals(6, field.findWay(startPoint, endPoint).size());
+        assertEquals(4, field.getPathCacheMisses());
+    }
+
+    @Test
+    void avoidExpensiveTiles() {
+        Field field = new Field(3,3);
+        Point startPoint = new Point(0,0);
+        Point endPoint = new Point(2,0);
+
+        //going around the sand costs 4, crossing it costs 6
+        field.setTileCost(1, 0, 5);
+        assertEquals(5, field.findWay(startPoint, endPoint).size());
+        assertEquals(4, field.getFlowField(endPoint).getDistance(startPoint.x, startPoint.y));
+
+        field.setTileCost(1, 0, 2);
+        assertEquals(3, field.findWay(startPoint, endPoint).size());
+
+        field.setTileCost(1, 0, 1);
+        field.setManned(1, 0);
+        assertEquals(5, field.findWay(startPoint, endPoint).size());
+        assertThrows(IllegalArgumentException.class, () -> field.setTileCost(1, 1, 0));
+    }
+
+    @Test
+    void findCheapestWay() {
+        Field field = new Field(9,11);
+        Point startPoint = new Point(0,0);
+        Point endPoint = new Point(10,8);
+        Random random = new Random(3);
+        int[][] costs = new int[11][9];
+        for (int x = 0; x<11; x++) {
+            for (int y = 0; y<9; y++) {
+                costs[x][y] = 1 + random.nextInt(9);
+                field.setTileCost(x, y, costs[x][y]);
+                if (random.nextInt(5) == 0 && (x+y) % 18 != 0) {
+                    field.setManned(x, y);
+                }
+            }
+        }
+
+        //relax all tiles until nothing changes
+        int[][] cheapest = new int[11][9];
+        for (int[] column : cheapest) {
+            Arrays.fill(column, Integer.MAX_VALUE);
+        }
+        cheapest[endPoint.x][endPoint.y] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int x = 0; x<11; x++) {
+                for (int y = 0; y<9; y++) {
+                    if (field.isManned(x, y) || cheapest[x][y] == Integer.MAX_VALUE) {
+                        continue;
+                    }
+                    int[][] neighbors = {{x+1, y}, {x-1, y}, {x, y+1}, {x, y-1}};
+                    for (int[] neighbor : neighbors) {
+                        if (neighbor[0] >= 0 && neighbor[0] < 11 && neighbor[1] >= 0 && neighbor[1] < 9
+                                && !field.isManned(neighbor[0], neighbor[1])
+                                && cheapest[x][y] + costs[x][y] < cheapest[neighbor[0]][neighbor[1]]) {
+                            cheapest[neighbor[0]][neighbor[1]] = cheapest[x][y] + costs[x][y];
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Point> path = field.findWay(startPoint, endPoint);
+        int pathCost = 0;
+        for (int k = 1; k<path.size(); k++) {
+            pathCost += costs[path.get(k).x][path.get(k).y];
+        }
+        assertEquals(cheapest[startPoint.x][startPoint.y], pathCost);
+        assertEquals(pathCost, field.getFlowField(endPoint).getDistance(startPoint.x, startPoint.y));
+    }
+
+    @Test
+    void packPathIntoSegments() {
+        Field field = new Field(5,5);
+        Point startPoint = new Point(0,0);
+        Point endPoint = new Point(4,4);
+        field.setManned(1, 0);
+        field.setManned(1, 1);
+        field.setManned(1, 2);
+        field.setManned(1, 3);
+        field.setManned(3, 4);
+        field.setManned(3, 3);
+        field.setManned(3, 2);
+        field.setManned(3, 1);
+
+        //down, right, up, right, down
+        PackedPath path = field.findWay(startPoint, endPoint);
+        assertEquals(17, path.size());
+        assertEquals(5, path.getSegmentCount());
+        assertEquals(new Point(0,4), path.getWaypoint(1));
+        assertEquals(new Point(2,2), path.get(8));
+        assertEquals(endPoint, path.get(16));
+        assertThrows(IndexOutOfBoundsException.class, () -> path.get(17));
+        assertSame(path, field.findWay(startPoint, endPoint));
+    }
+
+    @Test
+    void findWaysToClosestExit() {
+        Field field = new Field(5,5);
+        Point[] startPoints = {new Point(0,0), new Point(0,4)};
+        Point[] endPoints = {new Point(4,0), new Point(4,4)};
+
+        PackedPath[] paths = field.findWays(startPoints, endPoints);
+        assertEquals(5, paths[0].size());
+        assertEquals(endPoints[0], paths[0].get(4));
+        assertEquals(endPoints[1], paths[1].get(4));
+
+        //a wall with one gap, both spawns walk to the lower exit
+        for (int y = 0; y<4; y++) {
+            field.setManned(2, y);
+        }
+        paths = field.findWays(startPoints, endPoints);
+        assertEquals(9, paths[0].size());
+        assertEquals(endPoints[1], paths[0].get(8));
+        assertEquals(5, paths[1].size());
+        assertSame(paths, field.findWays(startPoints, endPoints));
+        assertEquals(1, field.getPathCacheHits());
+        assertEquals(2, field.getPathCacheMisses());
+
+        field.setManned(2, 4);
+        assertEquals(0, field.findWays(startPoints, endPoints)[0].size());
+    }
+}
@@ -2,10 +2,19 @@ package io.swapastack.dunetd.test;
 
 import com.badlogic.gdx.math.Vector3;
 import io.swapastack.dunetd.world.enemies.BossUnit;
+import io.swapastack.dunetd.world.enemies.EnemyGrid;
+import io.swapastack.dunetd.world.enemies.EnemyModel;
+import io.swapastack.dunetd.world.enemies.EnemyModelPool;
+import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
 import io.swapastack.dunetd.world.placeable.turret.Bullet;
+import io.swapastack.dunetd.world.placeable.turret.TargetingStrategy;
 import io.swapastack.dunetd.world.GameWorld;
 import org.junit.jupiter.api.Test;
 
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GameWorldTest {
@@ -38,4 +47,234 @@ class GameWorldTest {
         assertTrue(world.checkInRange(enemy, enemy.radius, bullet.position.x, bullet.position.z));
     }
 
-}
\ No newline at end of file
+    @Test
+    void enemiesInRangeOfMovingEnemies() {
+        GameWorld world = new GameWorld();
+        ArrayList<BossUnit> enemies = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i<40; i++) {
+            BossUnit enemy = new BossUnit(new Vector3(random.nextFloat() * 5, 0, random.nextFloat() * 5));
+            enemies.add(enemy);
+            world.addEnemy(enemy);
+        }
+
+        ArrayList<GameObjectEnemy> enemiesInRange = new ArrayList<>();
+        for (int round = 0; round<20; round++) {
+            for (BossUnit enemy : enemies) {
+                enemy.setPosition(Math.min(Math.max(enemy.getX() + random.nextFloat() - 0.5f, 0), 5),
+                        Math.min(Math.max(enemy.getZ() + random.nextFloat() - 0.5f, 0), 5));
+                world.getEnemyGrid().update(enemy);
+            }
+
+            float radius = random.nextFloat() * 3;
+            float towerPosX = random.nextInt(6);
+            float towerPosY = random.nextInt(6);
+            world.getEnemiesInRange(radius, towerPosX, towerPosY, enemiesInRange);
+            for (BossUnit enemy : enemies) {
+                assertEquals(world.checkInRange(enemy, radius, towerPosX, towerPosY), enemiesInRange.contains(enemy));
+            }
+        }
+
+        world.getEnemyGrid().remove(enemies.get(0));
+        world.getEnemiesInRange(10, 2, 2, enemiesInRange);
+        assertFalse(enemiesInRange.contains(enemies.get(0)));
+        assertEquals(39, enemiesInRange.size());
+    }
+
+    @Test
+    void firstEnemyHitOnTheWay() {
+        GameWorld world = new GameWorld();
+        BossUnit enemy = new BossUnit(new Vector3(1,0,0));
+        BossUnit enemy2 = new BossUnit(new Vector3(3,0,0));
+        world.addEnemy(enemy2);
+        world.addEnemy(enemy);
+
+        //bossunit radius = 0.3f
+        assertNull(world.findFirstEnemyHit(0, 0.5f, 4, 0.5f));
+        assertNull(world.findFirstEnemyHit(0, 0, 0.6f, 0));
+
+        //a fast bullet flies over both enemies in one frame, the closer one is hit
+        assertSame(enemy, world.findFirstEnemyHit(0, 0, 4, 0));
+        assertSame(enemy2, world.findFirstEnemyHit(4, 0, 0, 0));
+        assertEquals(0.175f, EnemyGrid.getHitTime(enemy, 0, 0, 4, 0), 0.0001f);
+
+        ArrayList<GameObjectEnemy> enemiesInside = new ArrayList<>();
+        world.getEnemiesInRectangle(0, -0.5f, 1.5f, 0.5f, enemiesInside);
+        assertEquals(1, enemiesInside.size());
+        assertSame(enemy, enemiesInside.get(0));
+    }
+
+    @Test
+    void firstEnemyInRangeByProgress() {
+        ArrayList<Point> path = new ArrayList<>();
+        for (int x = 0; x<6; x++) {
+            path.add(new Point(x, 0));
+        }
+
+        GameWorld world = new GameWorld();
+        BossUnit last = new BossUnit(new Vector3(0,0,0), path);
+        BossUnit middle = new BossUnit(new Vector3(0,0,0), path);
+        BossUnit first = new BossUnit(new Vector3(0,0,0), path);
+        for (int i = 0; i<150; i++) {
+            middle.move(0.01f);
+            first.move(0.02f);
+        }
+        world.addEnemy(last);
+        world.addEnemy(middle);
+        world.addEnemy(first);
+
+        assertSame(first, world.getEnemies().get(0));
+        assertSame(last, world.getEnemies().get(2));
+        assertTrue(first.getProgress() > middle.getProgress());
+
+        //all three are in range, but the first one is in front
+        assertSame(first, world.findFirstEnemyInRange(5, 0, 0));
+        assertSame(middle, world.findFirstEnemyInRange(2, 0, 0));
+        assertNull(world.findFirstEnemyInRange(1, 5, 3));
+    }
+
+    @Test
+    void targetingStrategies() {
+        GameWorld world = new GameWorld();
+        BossUnit near = new BossUnit(new Vector3(1,0,1));
+        BossUnit strong = new BossUnit(new Vector3(3,0,1));
+        BossUnit weak = new BossUnit(new Vector3(3,0,2));
+        BossUnit crowded = new BossUnit(new Vector3(2,0,3));
+        BossUnit crowded2 = new BossUnit(new Vector3(2.2f,0,3));
+        near.setLifePoints(50);
+        strong.setLifePoints(300);
+        weak.setLifePoints(10);
+        crowded.setLifePoints(40);
+        crowded2.setLifePoints(40);
+        for (BossUnit enemy : new BossUnit[]{near, strong, weak, crowded, crowded2}) {
+            world.addEnemy(enemy);
+        }
+
+        assertSame(near, world.findTarget(TargetingStrategy.CLOSEST, 4, 0, 0));
+        assertSame(strong, world.findTarget(TargetingStrategy.STRONGEST, 4, 0, 0));
+        assertSame(weak, world.findTarget(TargetingStrategy.WEAKEST, 4, 0, 0));
+        assertEquals(3, world.findTarget(TargetingStrategy.MOST_CLUSTERED, 4, 0, 0).getZ());
+
+        //out of range of the strongest one
+        assertSame(near, world.findTarget(TargetingStrategy.STRONGEST, 2, 0, 0));
+        assertNull(world.findTarget(TargetingStrategy.CLOSEST, 1, 5, 5));
+        assertEquals(6, world.getTargetSearches());
+    }
+
+    @Test
+    void targetFromCandidates() {
+        GameWorld world = new GameWorld();
+        BossUnit front = new BossUnit(new Vector3(2,0,1));
+        BossUnit strong = new BossUnit(new Vector3(1,0,1));
+        BossUnit back = new BossUnit(new Vector3(0,0,1));
+        front.setLifePoints(20);
+        strong.setLifePoints(90);
+        back.setLifePoints(10);
+
+        //only the candidates of a turret are searched, in the order of their progress
+        ArrayList<GameObjectEnemy> candidates = new ArrayList<>();
+        candidates.add(front);
+        candidates.add(back);
+        assertSame(front, world.findTarget(TargetingStrategy.FIRST, candidates, 4, 0, 1));
+        assertSame(back, world.findTarget(TargetingStrategy.LAST, candidates, 4, 0, 1));
+        assertSame(back, world.findTarget(TargetingStrategy.FIRST, candidates, 1, 0, 1));
+        assertNull(world.findTarget(TargetingStrategy.FIRST, new ArrayList<GameObjectEnemy>(), 4, 0, 1));
+        assertNotSame(strong, world.findTarget(TargetingStrategy.LAST, candidates, 4, 1, 1));
+
+        //the strongest and weakest enemies are walked in the order of their life points
+        world.addEnemy(front);
+        world.addEnemy(strong);
+        world.addEnemy(back);
+        assertSame(strong, world.findTarget(TargetingStrategy.STRONGEST, candidates, 4, 0, 1));
+        assertSame(back, world.findTarget(TargetingStrategy.WEAKEST, candidates, 4, 0, 1));
+        assertSame(front, world.findTarget(TargetingStrategy.STRONGEST, candidates, 0.5f, 2, 1));
+    }
+
+    @Test
+    void skipDoomedEnemies() {
+        GameWorld world = new GameWorld();
+        BossUnit first = new BossUnit(new Vector3(2,0,1));
+        BossUnit second = new BossUnit(new Vector3(1,0,1));
+        first.setLifePoints(20);
+        second.setLifePoints(20);
+        world.addEnemy(first);
+        world.addEnemy(second);
+
+        //the bullets in flight kill the closer enemy, but not yet the other one
+        second.addPendingDamage(20);
+        first.addPendingDamage(10);
+        assertSame(first, world.findTarget(TargetingStrategy.CLOSEST, 4, 0, 1));
+        assertSame(first, world.findTarget(TargetingStrategy.MOST_CLUSTERED, 4, 0, 1));
+        first.addPendingDamage(10);
+        assertNull(world.findTarget(TargetingStrategy.STRONGEST, 4, 0, 1));
+        second.addPendingDamage(-20);
+        assertSame(second, world.findTarget(TargetingStrategy.FIRST, 4, 0, 1));
+    }
+
+    @Test
+    void enemyStoreKeepsValues() {
+        GameWorld world = new GameWorld();
+        BossUnit first = new BossUnit(new Vector3(1,0,2));
+        BossUnit second = new BossUnit(new Vector3(3,0,4));
+        first.setLifePoints(10);
+        second.setLifePoints(20);
+        world.addEnemy(first);
+        world.addEnemy(second);
+        assertEquals(2, world.getEnemyStore().size());
+
+        //the last enemy takes the slot of the removed one, the removed one keeps its values
+        int handle = first.getHandle();
+        world.getEnemyStore().remove(first);
+        assertSame(first, world.getEnemyStore().get(handle));
+        world.getEnemyStore().compact();
+        first.takeDamage(3);
+        assertEquals(1, world.getEnemyStore().size());
+        assertSame(second, world.getEnemyStore().getInSlot(0));
+        assertSame(second, world.getEnemyStore().get(second.getHandle()));
+        assertNull(world.getEnemyStore().get(handle));
+
+        //a new enemy gets the id of the removed one, but not its handle
+        BossUnit third = new BossUnit(new Vector3(0,0,0));
+        world.addEnemy(third);
+        assertNull(world.getEnemyStore().get(handle));
+        assertEquals(handle, first.getHandle());
+        assertSame(third, world.getEnemyStore().get(third.getHandle()));
+        assertEquals(3, second.getX());
+        assertEquals(4, second.getZ());
+        assertEquals(20, second.getLifePoints());
+        assertEquals(1, first.getX());
+        assertEquals(7, first.getLifePoints());
+
+        //with the next compaction the graveyard slot goes to the next removed enemy, the old one reads no values
+        world.getEnemyStore().remove(second);
+        world.getEnemyStore().compact();
+        assertEquals(3, second.getX());
+        assertEquals(20, second.getLifePoints());
+        assertEquals(0, first.getX());
+        assertEquals(0, first.getLifePoints());
+        world.getEnemyStore().compact();
+        assertEquals(0, second.getLifePoints());
+        assertSame(third, world.getEnemyStore().getInSlot(0));
+    }
+
+    @Test
+    void warmUpEnemyModels() {
+        EnemyModelPool pool = new EnemyModelPool() {
+            @Override
+            protected EnemyModel newObject() {
+                return new EnemyModel(null, null);
+            }
+        };
+        pool.warmUp(3);
+        assertEquals(3, pool.getFree());
+
+        //a warm pool hands out its models and takes them back, without creating new ones
+        EnemyModel model = pool.obtain();
+        assertEquals(2, pool.getFree());
+        pool.warmUp(2);
+        assertEquals(2, pool.getFree());
+        pool.free(model);
+        assertEquals(3, pool.getFree());
+        assertSame(model, pool.obtain());
+    }
+}
@@ -2,8 +2,8 @@ package io.swapastack.dunetd.test;
 
 import com.badlogic.gdx.math.Vector3;
 import io.swapastack.dunetd.world.enemies.BossUnit;
-import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
-import io.swapastack.dunetd.world.placeable.turret.GunTurret;
+import io.swapastack.dunetd.world.placeable.turret.TargetingStrategy;
+import io.swapastack.dunetd.world.GameWorld;
 import org.junit.jupiter.api.Test;
 
 import java.awt.*;
@@ -14,7 +14,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class GunTurretTest {
 
     @Test
-    void findFastestEnemy() {
+    void targetFirstEnemy() {
         ArrayList<Point> path = new ArrayList<>();
         path.add(new Point(0, 0));
         path.add(new Point(1,0));
@@ -22,14 +22,17 @@ class GunTurretTest {
 
         BossUnit bossUnit = new BossUnit(new Vector3(0,0,0), path);
         BossUnit bossUnit2 = new BossUnit(new Vector3(0,0,0), path);
+        //the first step reaches the start point, the second one leaves it towards the next point
+        bossUnit2.move(0.05f);
         bossUnit2.move(0.05f);
 
-        ArrayList<GameObjectEnemy> enemies = new ArrayList<>();
-
-        enemies.add(bossUnit);
-        enemies.add(bossUnit2);
+        GameWorld world = new GameWorld();
+        world.addEnemy(bossUnit);
+        world.addEnemy(bossUnit2);
 
-        GunTurret gunTurret = new GunTurret();
-        assertEquals(bossUnit2, gunTurret.findFastestEnemy(enemies));
+        //the enemies are ordered by their progress, the first one in range is the furthest on its way
+        assertSame(bossUnit2, world.getEnemies().get(0));
+        assertSame(bossUnit2, world.findTarget(TargetingStrategy.FIRST, world.getEnemies(), 5, 0, 0));
+        assertSame(bossUnit2, world.findFirstEnemyInRange(5, 0, 0));
     }
-}
\ No newline at end of file
+}
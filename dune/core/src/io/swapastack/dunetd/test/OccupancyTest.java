@@ -0,0 +1,82 @@
+package io.swapastack.dunetd.test;
+
+import io.swapastack.dunetd.world.field.Field;
+import io.swapastack.dunetd.world.field.Occupancy;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyTest {
+
+    @Test
+    void snapshotKeepsState() {
+        Field field = new Field(11,13);
+        field.setManned(12, 4);
+        Occupancy snapshot = field.getSnapshot();
+
+        field.setManned(0, 5);
+        assertTrue(snapshot.isManned(12, 4));
+        assertFalse(snapshot.isManned(0, 5));
+        assertEquals(1, snapshot.countDifferences(field.getSnapshot()));
+        assertNotEquals(snapshot.hash64(), field.getSnapshot().hash64());
+
+        field.setUnmanned(0, 5);
+        assertEquals(snapshot, field.getSnapshot());
+        assertEquals(snapshot.hash64(), field.getSnapshot().hash64());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.copyFrom(new Occupancy(13,11)));
+    }
+
+    @Test
+    void expandDoesNotWrapRows() {
+        Occupancy occupancy = new Occupancy(11,13);
+        occupancy.set(12, 5, true);
+        long[] frontier = occupancy.newBoard();
+        long[] result = occupancy.newBoard();
+
+        //the tile at the end of row 4 lies next to the start of row 5 in the bitboard
+        frontier[(4*13 + 12) >>> 6] |= 1L << (4*13 + 12);
+        occupancy.expand(frontier, result);
+
+        Occupancy expanded = new Occupancy(11,13);
+        expanded.set(12, 4, true);
+        expanded.set(11, 4, true);
+        expanded.set(12, 3, true);
+        assertArrayEquals(expanded.toLongArray(), result);
+
+        //a column outside of the field does not address the next row
+        assertThrows(IndexOutOfBoundsException.class, () -> occupancy.set(13, 4, true));
+        assertThrows(IndexOutOfBoundsException.class, () -> occupancy.isManned(-1, 5));
+        assertFalse(occupancy.isManned(0, 5));
+    }
+
+    @Test
+    void reachableTilesMatchPathfinding() {
+        Field field = new Field(11,13);
+        Point startPoint = new Point(0,0);
+        Random random = new Random(7);
+        for (int i = 0; i<40; i++) {
+            field.setManned(1 + random.nextInt(12), random.nextInt(11));
+        }
+
+        Occupancy occupancy = field.getSnapshot();
+        long[] reached = occupancy.newBoard();
+        int steps = occupancy.fillReachable(0, reached);
+
+        int farthest = 0;
+        for (int x = 0; x<13; x++) {
+            for (int y = 0; y<11; y++) {
+                int index = y*13 + x;
+                boolean isReached = (reached[index >>> 6] & 1L << index) != 0;
+                int pathSize = field.findWay(new Point(x, y), startPoint).size();
+                assertEquals(!field.isManned(x, y) && pathSize > 0, isReached);
+                if (isReached) {
+                    farthest = Math.max(farthest, pathSize - 1);
+                }
+            }
+        }
+        assertEquals(farthest, steps);
+    }
+}
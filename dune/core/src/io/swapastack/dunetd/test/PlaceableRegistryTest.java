@@ -0,0 +1,142 @@
+package io.swapastack.dunetd.test;
+
+import com.badlogic.gdx.math.Vector3;
+import io.swapastack.dunetd.world.enemies.BossUnit;
+import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
+import io.swapastack.dunetd.world.placeable.PlaceableRegistry;
+import io.swapastack.dunetd.world.placeable.SlowField;
+import io.swapastack.dunetd.world.placeable.TurretCoverage;
+import io.swapastack.dunetd.world.placeable.turret.AbstractTurret;
+import io.swapastack.dunetd.world.placeable.turret.GunTurret;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceableRegistryTest {
+
+    @Test
+    void findAndRemoveByTile() {
+        PlaceableRegistry registry = new PlaceableRegistry(4,5);
+        AbstractTurret turret = createTurret(1, 2);
+        AbstractTurret turret2 = createTurret(4, 3);
+        AbstractTurret turret3 = createTurret(0, 0);
+        registry.add(turret, PlaceableRegistry.GUN_TURRET);
+        registry.add(turret2, PlaceableRegistry.SOUND_TURRET);
+        registry.add(turret3, PlaceableRegistry.BOMB_TURRET);
+
+        assertSame(turret2, registry.get(4, 3));
+        assertEquals(PlaceableRegistry.SOUND_TURRET, registry.getType(4, 3));
+        assertNull(registry.get(2, 2));
+        assertEquals(PlaceableRegistry.NONE, registry.getType(2, 2));
+
+        //the last turret takes the place of the removed one
+        assertSame(turret, registry.remove(1, 2));
+        assertNull(registry.remove(1, 2));
+        assertEquals(2, registry.getTurrets().size());
+        assertSame(turret3, registry.get(0, 0));
+        assertSame(turret2, registry.get(4, 3));
+        assertEquals(PlaceableRegistry.NONE, registry.getType(1, 2));
+    }
+
+    @Test
+    void turretsInRow() {
+        PlaceableRegistry registry = new PlaceableRegistry(4,5);
+        for (int x = 0; x<5; x++) {
+            registry.add(createTurret(x, 1), PlaceableRegistry.GUN_TURRET);
+        }
+        registry.add(createTurret(2, 2), PlaceableRegistry.GUN_TURRET);
+
+        //the worm covers the row from 0.7 to 3.3
+        ArrayList<AbstractTurret> turrets = new ArrayList<>();
+        registry.getTurretsInRectangle(0.7f, 0.5f, 3.3f, 1.5f, turrets);
+        assertEquals(3, turrets.size());
+        for (AbstractTurret turret : turrets) {
+            assertEquals(1, turret.position.y);
+        }
+    }
+
+    @Test
+    void coverageOfTiles() {
+        PlaceableRegistry registry = new PlaceableRegistry(5,10);
+        TurretCoverage coverage = new TurretCoverage(5, 10, registry);
+        AbstractTurret turret = createTurret(2, 2);
+        turret.radius = 1;
+        registry.add(turret, PlaceableRegistry.GUN_TURRET);
+
+        //the range reaches the neighbors and touches the corners of the diagonal tiles, but not the tiles two away
+        assertEquals(1, coverage.getCoverCount(3, 2));
+        assertEquals(1, coverage.getCoverCount(3, 3));
+        assertEquals(0, coverage.getCoverCount(4, 2));
+        assertEquals(0, coverage.getCoverCount(4, 4));
+        assertEquals(0, coverage.getCoverCount(8, 2));
+
+        //the index is rebuilt after a turret is added
+        AbstractTurret turret2 = createTurret(4, 2);
+        turret2.radius = 1;
+        registry.add(turret2, PlaceableRegistry.GUN_TURRET);
+        assertEquals(2, coverage.getCoverCount(3, 2));
+
+        //enemies register in their order with the turrets covering their tile
+        GameObjectEnemy near = new BossUnit(new Vector3(3.2f,0,2));
+        GameObjectEnemy far = new BossUnit(new Vector3(8,0,2));
+        GameObjectEnemy left = new BossUnit(new Vector3(1,0,2));
+        ArrayList<GameObjectEnemy> enemies = new ArrayList<>();
+        enemies.add(near);
+        enemies.add(far);
+        enemies.add(left);
+        coverage.register(enemies);
+        assertEquals(2, turret.getCoveredEnemies().size());
+        assertSame(near, turret.getCoveredEnemies().get(0));
+        assertSame(left, turret.getCoveredEnemies().get(1));
+        assertEquals(1, turret2.getCoveredEnemies().size());
+
+        registry.remove(2, 2);
+        assertEquals(1, coverage.getCoverCount(3, 2));
+        assertEquals(0, coverage.getCoverCount(1, 2));
+    }
+
+    @Test
+    void stackingSlowAuras() {
+        PlaceableRegistry registry = new PlaceableRegistry(5,10);
+        SlowField slowField = new SlowField(5, 10, registry, 50, 2);
+        for (int x = 2; x<=4; x++) {
+            AbstractTurret turret = createTurret(x, 2);
+            turret.radius = 1.5f;
+            registry.add(turret, PlaceableRegistry.SOUND_TURRET);
+        }
+        AbstractTurret gunTurret = createTurret(8, 2);
+        gunTurret.radius = 1.5f;
+        registry.add(gunTurret, PlaceableRegistry.GUN_TURRET);
+        slowField.refresh();
+
+        //three auras on the middle tile, but only two stack
+        assertEquals(0.25f, slowField.getFactor(3, 2), 0.0001f);
+        assertEquals(0.25f, slowField.getFactor(2.4f, 2.3f), 0.0001f);
+        assertEquals(0.5f, slowField.getFactor(1.4f, 2.3f), 0.0001f);
+        assertEquals(1, slowField.getFactor(0, 2), 0.0001f);
+        assertEquals(1, slowField.getFactor(8, 2), 0.0001f);
+
+        registry.remove(2, 2);
+        registry.remove(4, 2);
+        slowField.refresh();
+        assertEquals(0.5f, slowField.getFactor(3, 2), 0.0001f);
+        assertEquals(1, slowField.getFactor(1, 2), 0.0001f);
+    }
+
+    /**
+     * Creates a turret without screen on the given tile.
+     *
+     * @param xPos the x coordinate of the tile.
+     * @param yPos the y coordinate of the tile.
+     *
+     * @return the new turret.
+     */
+    private AbstractTurret createTurret(int xPos, int yPos) {
+        AbstractTurret turret = new GunTurret();
+        turret.position = new Point(xPos, yPos);
+        return turret;
+    }
+}
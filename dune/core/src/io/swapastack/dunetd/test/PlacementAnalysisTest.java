@@ -0,0 +1,104 @@
+package io.swapastack.dunetd.test;
+
+import io.swapastack.dunetd.world.field.Field;
+import io.swapastack.dunetd.world.field.GridPathfinder;
+import io.swapastack.dunetd.world.field.PlacementAnalysis;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlacementAnalysisTest {
+
+    @Test
+    void disconnectingTiles() {
+        Field field = new Field(4,4);
+        Point startPoint = new Point(0,0);
+        Point endPoint = new Point(3,0);
+
+        /*
+        mannedTile
+        {false, false, true,  false}
+        {false, true,  false, false}
+        {false, true,  false, true }
+        {false, false, false, true }
+         */
+        field.setManned(2, 0);
+        field.setManned(1, 1);
+        field.setManned(1, 2);
+        field.setManned(3, 2);
+        field.setManned(3, 3);
+        field.setManned(startPoint.x, startPoint.y);
+        field.setManned(endPoint.x, endPoint.y);
+
+        PlacementAnalysis analysis = field.getPlacementAnalysis(startPoint, endPoint);
+
+        //only one way left, every tile of it disconnects the portals
+        assertEquals(9, analysis.getPathLength());
+        assertTrue(analysis.isDisconnecting(0, 1));
+        assertTrue(analysis.isDisconnecting(2, 2));
+        assertEquals(GridPathfinder.UNREACHED, analysis.getPathLengthIfManned(2, 3));
+
+        //dead end next to the startportal
+        assertFalse(analysis.isDisconnecting(1, 0));
+        assertEquals(9, analysis.getPathLengthIfManned(1, 0));
+
+        //selling a turret opens a second way
+        field.setUnmanned(1, 1);
+        assertEquals(5, analysis.getPathLength());
+        assertFalse(analysis.isDisconnecting(0, 1));
+        assertTrue(analysis.isDisconnecting(2, 1));
+    }
+
+    @Test
+    void pathLengthIfManned() {
+        Field field = new Field(3,3);
+        Point startPoint = new Point(0,1);
+        Point endPoint = new Point(2,1);
+        field.setManned(startPoint.x, startPoint.y);
+        field.setManned(endPoint.x, endPoint.y);
+
+        PlacementAnalysis analysis = field.getPlacementAnalysis(startPoint, endPoint);
+
+        assertEquals(2, analysis.getPathLength());
+        assertEquals(4, analysis.getPathLengthIfManned(1, 1));
+        assertEquals(2, analysis.getPathLengthIfManned(1, 0));
+        assertFalse(analysis.isDisconnecting(1, 1));
+
+        //with a turret in the middle the top tile is the only way left
+        field.setManned(1, 1);
+        field.setManned(1, 2);
+        assertTrue(analysis.isDisconnecting(1, 0));
+        assertEquals(4, analysis.getPathLength());
+    }
+
+    @Test
+    void disconnectingTilesOfSeveralPortals() {
+        Field field = new Field(5,5);
+        Point[] startPoints = {new Point(0,0), new Point(0,4)};
+        Point[] endPoints = {new Point(4,0), new Point(4,4)};
+        for (Point endPoint : endPoints) {
+            field.setManned(endPoint.x, endPoint.y);
+        }
+
+        PlacementAnalysis analysis = field.getPlacementAnalysis(startPoints, endPoints);
+        assertEquals(4, analysis.getPathLength());
+
+        //a wall with one gap, every spawn has to pass it
+        for (int y = 0; y<4; y++) {
+            field.setManned(2, y);
+        }
+        assertEquals(8, analysis.getPathLength());
+        assertTrue(analysis.isDisconnecting(1, 4));
+        assertTrue(analysis.isDisconnecting(2, 4));
+        assertTrue(analysis.isDisconnecting(3, 4));
+        assertFalse(analysis.isDisconnecting(1, 2));
+        assertFalse(analysis.isDisconnecting(3, 3));
+
+        //the way to the first exit can be closed, the second one is still reachable
+        assertFalse(analysis.isDisconnecting(4, 1));
+        assertEquals(8, analysis.getPathLengthIfManned(4, 3));
+        assertEquals(GridPathfinder.UNREACHED, analysis.getPathLengthIfManned(3, 4));
+    }
+}
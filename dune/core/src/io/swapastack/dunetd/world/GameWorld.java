@@ -1,22 +1,45 @@
 package io.swapastack.dunetd.world;
 
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.utils.Pool;
+import io.swapastack.dunetd.world.components.DebrisComponent;
+import io.swapastack.dunetd.world.components.EnemyComponent;
+import io.swapastack.dunetd.world.components.TurretComponent;
+import io.swapastack.dunetd.world.components.WormComponent;
 import io.swapastack.dunetd.world.placeable.shaiHulud.Debris;
 import io.swapastack.dunetd.world.enemies.BossUnit;
+import io.swapastack.dunetd.world.enemies.EnemyGrid;
+import io.swapastack.dunetd.world.enemies.EnemyModel;
+import io.swapastack.dunetd.world.enemies.EnemyModelPool;
+import io.swapastack.dunetd.world.enemies.EnemyStore;
+import io.swapastack.dunetd.world.enemies.EnemyVisitor;
 import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
 import io.swapastack.dunetd.world.enemies.Harvester;
 import io.swapastack.dunetd.world.enemies.Infantry;
 import io.swapastack.dunetd.world.field.Field;
+import io.swapastack.dunetd.world.field.FlowField;
+import io.swapastack.dunetd.world.field.PackedPath;
+import io.swapastack.dunetd.world.field.PlacementAnalysis;
+import io.swapastack.dunetd.world.placeable.PlaceableRegistry;
+import io.swapastack.dunetd.world.placeable.SlowField;
+import io.swapastack.dunetd.world.placeable.TurretCoverage;
 import io.swapastack.dunetd.world.placeable.shaiHulud.ShaiHulud;
 import io.swapastack.dunetd.world.placeable.shaiHulud.Thumper;
 import io.swapastack.dunetd.world.placeable.turret.*;
+import io.swapastack.dunetd.world.systems.EnemySystem;
+import io.swapastack.dunetd.world.systems.ProjectileSystem;
+import io.swapastack.dunetd.world.systems.TurretSystem;
+import io.swapastack.dunetd.world.systems.WormSystem;
 import io.swapastack.dunetd.screens.GameScreen;
 import io.swapastack.dunetd.screens.MainMenuScreen;
 import net.mgsx.gltf.scene3d.scene.Scene;
 import java.awt.*;
 import java.util.ArrayList;
 
-import static java.lang.Math.sqrt;
-
 /**
  * The GameWorld class.
  *
@@ -31,18 +54,97 @@ public class GameWorld {
     public final int rows = MainMenuScreen.height.get();
     public final int cols = MainMenuScreen.width.get();
     private Field field;
+    private FlowField flowField;
+    private PlacementAnalysis placementAnalysis;
+
+    // Entities of the enemies, turrets, projectiles, worms and debris, updated by the systems in the order of their
+    // priorities
+    private final Engine engine = new Engine();
+    private final Family debrisFamily = Family.all(DebrisComponent.class).get();
+
+    // Priorities of the systems
+    private static final int AURA_PRIORITY = 0;
+    private static final int ENEMY_PRIORITY = 1;
+    private static final int ORDER_PRIORITY = 2;
+    private static final int TURRET_PRIORITY = 3;
+    private static final int WORM_PRIORITY = 4;
+    private static final int PROJECTILE_PRIORITY = 5;
+    private static final int COMPACT_PRIORITY = 6;
+
+    // Bullets, bombs and explosions, which are used again after they hit, left the field or ended
+    private final Pool<Bullet> bulletPool = new Pool<Bullet>() {
+        @Override
+        protected Bullet newObject() {
+            return new Bullet(screen, GameWorld.this);
+        }
+    };
+    private final Pool<Bomb> bombPool = new Pool<Bomb>() {
+        @Override
+        protected Bomb newObject() {
+            return new Bomb(screen, GameWorld.this);
+        }
+    };
+    private final Pool<Explosion> explosionPool = new Pool<Explosion>() {
+        @Override
+        protected Explosion newObject() {
+            return new Explosion(screen);
+        }
+    };
 
-    // Lists which need to be updated
+    // Models of the enemies, which are taken by the next spawned enemy after an enemy died or reached the endportal
+    private final EnemyModelPool infantryModels = new EnemyModelPool() {
+        @Override
+        protected EnemyModel newObject() {
+            return Infantry.createModel(screen);
+        }
+    };
+    private final EnemyModelPool harvesterModels = new EnemyModelPool() {
+        @Override
+        protected EnemyModel newObject() {
+            return Harvester.createModel(screen);
+        }
+    };
+    private final EnemyModelPool bossUnitModels = new EnemyModelPool() {
+        @Override
+        protected EnemyModel newObject() {
+            return BossUnit.createModel(screen);
+        }
+    };
+
+    // Enemies ordered by their progress and again by their life points, the biggest first, and the number of
+    // destroyed enemies, which are still in the orders
     private final ArrayList<GameObjectEnemy> enemies = new ArrayList<>();
-    private final ArrayList<AbstractTurret> turrets = new ArrayList<>();
+    private final ArrayList<GameObjectEnemy> enemiesByLife = new ArrayList<>();
+    private int destroyedEnemies;
     public final ArrayList<Thumper> thumpers = new ArrayList<>();
-    private final ArrayList<ShaiHulud> shaiHuluds = new ArrayList<>();
-    private final ArrayList<Debris> debris = new ArrayList<>();
-    private final ArrayList<Bullet> bullets = new ArrayList<>();
 
-    // Start- and end-position
-    public Point startPoint = null;
-    public Point endPoint = null;
+    // Position, movement and life points of all enemies in parallel arrays
+    private final EnemyStore enemyStore = new EnemyStore(64);
+
+    // Enemies bucketed by their tile, for range queries
+    private final EnemyGrid enemyGrid = new EnemyGrid(rows, cols);
+
+    // Turrets by the tile they stand on
+    private final PlaceableRegistry placeables = new PlaceableRegistry(rows, cols);
+
+    // Turrets covering every tile, the enemies register with them every frame
+    private final TurretCoverage coverage = new TurretCoverage(rows, cols, placeables);
+
+    // Speed multipliers of the tiles, caused by the auras of the sound turrets
+    private final SlowField slowField = new SlowField(rows, cols, placeables, MainMenuScreen.slowPercentage.get(),
+            MainMenuScreen.slowStacks.get());
+
+    // Start- and end-positions
+    public Point[] startPoints = new Point[0];
+    public Point[] endPoints = new Point[0];
+
+    // Number of searches for the first enemy in range, for debugging
+    private int targetSearches;
+
+    // Number of undefended path tiles and the generation of the field and version of the registry it was counted for
+    private int undefendedPathTiles;
+    private int undefendedGeneration = -1;
+    private int undefendedVersion = -1;
 
     // Player stats
     public int playerLife = MainMenuScreen.playerLife.get();
@@ -50,118 +152,421 @@ public class GameWorld {
     public int score = 0;
 
     /**
-     * Constructor which creates a random startPoint on left wall of the field and a random endPoint on the right wall of the field.
+     * Constructor which creates random startPoints on left wall of the field and random endPoints on the right wall of the field.
      * Also calls the create method.
      *
      * @param screen the screen, the world is created in.
      * @author Mattis Bühler
      */
     public GameWorld(GameScreen screen) {
-        startPoint = new Point(0,((int)(Math.random() * rows)));
-        endPoint = new Point((cols-1),((int)(Math.random() * rows)));
+        startPoints = createPortals(0, MainMenuScreen.spawnPortals.get());
+        endPoints = createPortals(cols-1, MainMenuScreen.exitPortals.get());
         this.screen = screen;
 
+        addSystems();
         create();
     }
 
     /**
      * Constructor for testing purposes
      */
-    public GameWorld() {}
+    public GameWorld() {
+        addSystems();
+    }
+
+    /**
+     * Adds the systems to the engine. Before the enemies move, the auras of the sound turrets are brought up to date,
+     * and after they moved, the orders of the enemies and the covering turrets, which the turrets aim with. The
+     * destroyed enemies leave the orders in one pass before they are sorted and the enemy store at the end of the
+     * frame.
+     */
+    private void addSystems() {
+        engine.addSystem(new EntitySystem(AURA_PRIORITY) {
+            @Override
+            public void update(float deltaTime) {
+                slowField.refresh();
+            }
+        });
+        engine.addSystem(new EnemySystem(this, ENEMY_PRIORITY));
+        engine.addSystem(new EntitySystem(ORDER_PRIORITY) {
+            @Override
+            public void update(float deltaTime) {
+                if (destroyedEnemies > 0) {
+                    removeDestroyed(enemies);
+                    removeDestroyed(enemiesByLife);
+                    destroyedEnemies = 0;
+                }
+                sortEnemies();
+                coverage.register(enemies);
+            }
+        });
+        engine.addSystem(new TurretSystem(this, TURRET_PRIORITY));
+        engine.addSystem(new WormSystem(WORM_PRIORITY));
+        engine.addSystem(new ProjectileSystem(PROJECTILE_PRIORITY));
+        engine.addSystem(new EntitySystem(COMPACT_PRIORITY) {
+            @Override
+            public void update(float deltaTime) {
+                enemyStore.compact();
+            }
+        });
+    }
+
+    /**
+     * Creates portals on different random tiles of a column.
+     *
+     * @param xCoord the x coordinate of the column.
+     * @param count the number of portals, at most the rows of the field.
+     *
+     * @return the positions of the portals.
+     */
+    private Point[] createPortals(int xCoord, int count) {
+        ArrayList<Integer> freeRows = new ArrayList<>();
+        for (int y = 0; y < rows; y++) {
+            freeRows.add(y);
+        }
+        Point[] portals = new Point[Math.min(count, rows)];
+        for (int i = 0; i < portals.length; i++) {
+            portals[i] = new Point(xCoord, freeRows.remove((int) (Math.random() * freeRows.size())));
+        }
+        return portals;
+    }
 
     /**
      * Is called in the constructor.
-     * Creates a new field with the given dimensions and adds the start- and endportal to the scene.
+     * Creates a new field with the given dimensions, its flow field to the endportals and its placement analysis
+     * between the portals and adds the start- and endportals to the scene. The endportals are manned, the startportals
+     * stay free, so enemies of other startportals may walk over them.
      *
      * @author Mattis Bühler
      */
     public void create() {
         field = new Field(rows, cols);
+        flowField = field.getFlowField(endPoints);
+        placementAnalysis = field.getPlacementAnalysis(startPoints, endPoints);
 
-        Scene startPortal = new Scene(screen.sceneAssetHashMap.get("towerRound_base.glb").scene);
-        startPortal.modelInstance.transform.setToTranslation(startPoint.x, screen.groundTileDimensions.y, startPoint.y);
-        screen.addingScene(startPortal);
-
-        Scene endPortal = new Scene(screen.sceneAssetHashMap.get("towerRound_crystals.glb").scene);
-        endPortal.modelInstance.transform.setToTranslation(endPoint.x, screen.groundTileDimensions.y, endPoint.y);
-        screen.addingScene(endPortal);
-
-
-        setManned(startPoint.x, startPoint.y);
-        setManned(endPoint.x, endPoint.y);
+        for (Point startPoint : startPoints) {
+            Scene startPortal = new Scene(screen.sceneAssetHashMap.get("towerRound_base.glb").scene);
+            startPortal.modelInstance.transform.setToTranslation(startPoint.x, screen.groundTileDimensions.y, startPoint.y);
+            screen.addingScene(startPortal);
+        }
 
+        for (Point endPoint : endPoints) {
+            Scene endPortal = new Scene(screen.sceneAssetHashMap.get("towerRound_crystals.glb").scene);
+            endPortal.modelInstance.transform.setToTranslation(endPoint.x, screen.groundTileDimensions.y, endPoint.y);
+            screen.addingScene(endPortal);
+            setManned(endPoint.x, endPoint.y);
+        }
     }
 
     /**
      * This method is called every time the GameScreen renders.
-     * Updates all objects that are in the world, but also removes them from the update method if needed.
+     * Updates all entities of the world through the systems of the engine, which also remove them if needed.
      * Also tracks the player's life.
      *
      * @param delta The time in seconds since the last render.
      */
     public void update(float delta) {
-        //stop updating removed enemies
-        for (int i = 0; i<enemies.size(); i++) {
-            enemies.get(i).update(delta);
-            if (enemies.get(i).destroyMe) {
-                enemies.remove(enemies.get(i));
-            }
+        engine.update(delta);
+
+        if (playerLife <= 0) {
+            screen.endGame(false);
         }
+    }
 
-        //update turrets
-        for (int i = 0; i<turrets.size(); i++) {
-            turrets.get(i).update(delta);
-            if (turrets.get(i).destroyMe) {
-                turrets.remove(turrets.get(i));
+    /**
+     * Removes an enemy, which is destroyed, from the grid of the world at once, so no query finds it anymore. It
+     * leaves the orders and the store of the world later, together with all other enemies destroyed in the frame. Its
+     * model goes back to its pool at once, because the scene was already removed from the screen.
+     *
+     * @param enemy the destroyed enemy.
+     */
+    public void removeEnemy(GameObjectEnemy enemy) {
+        enemyGrid.remove(enemy);
+        enemyStore.remove(enemy);
+        enemy.freeModel();
+        destroyedEnemies++;
+    }
+
+    /**
+     * Removes all destroyed enemies from an order in one pass, the other enemies keep their order.
+     *
+     * @param list the order of enemies.
+     *
+     * @author Mattis Bühler
+     */
+    private static void removeDestroyed(ArrayList<GameObjectEnemy> list) {
+        int kept = 0;
+        for (int i = 0; i<list.size(); i++) {
+            GameObjectEnemy enemy = list.get(i);
+            if (!enemy.destroyMe) {
+                list.set(kept++, enemy);
             }
         }
+        list.subList(kept, list.size()).clear();
+    }
 
-        //update shai huluds
-        for (int i = 0; i<shaiHuluds.size(); i++) {
-            shaiHuluds.get(i).update();
-            if (shaiHuluds.get(i).destroyMe) {
-                shaiHuluds.remove(shaiHuluds.get(i));
-            }
+    /**
+     * Removes a turret, which is destroyed, from the registry, if it still stands on its tile.
+     *
+     * @param turret the destroyed turret.
+     */
+    public void removeTurret(AbstractTurret turret) {
+        if (placeables.get(turret.position.x, turret.position.y) == turret) {
+            placeables.remove(turret.position.x, turret.position.y);
         }
+    }
+
+    /**
+     * Restores the order of the enemies by their progress and by their life points, the biggest first, with an
+     * insertion sort. The enemies only move a bit each frame and rarely overtake each other or lose much life at once,
+     * so the lists are nearly sorted and the sort takes one pass over the enemies and a step for every swapped pair,
+     * please refer https://en.wikipedia.org/wiki/Insertion_sort.
+     *
+     * @author Mattis Bühler
+     */
+    private void sortEnemies() {
+        sortEnemies(enemies, false);
+        sortEnemies(enemiesByLife, true);
+    }
 
-        //update bullets
-        for (int i = 0; i<bullets.size(); i++) {
-            bullets.get(i).update();
-            if (bullets.get(i).destroyMe) {
-                bullets.remove(bullets.get(i));
+    /**
+     * Sorts a list of enemies by their progress or by their life points with an insertion sort, the biggest first.
+     *
+     * @param list the list to sort.
+     * @param byLife if the enemies are sorted by their life points instead of their progress.
+     */
+    private static void sortEnemies(ArrayList<GameObjectEnemy> list, boolean byLife) {
+        for (int i = 1; i<list.size(); i++) {
+            GameObjectEnemy enemy = list.get(i);
+            float key = byLife ? enemy.getLifePoints() : enemy.getProgress();
+            int j = i;
+            while (j > 0 && (byLife ? list.get(j - 1).getLifePoints() : list.get(j - 1).getProgress()) < key) {
+                list.set(j, list.get(j - 1));
+                j--;
             }
+            list.set(j, enemy);
         }
+    }
 
-        if (playerLife <= 0) {
-            screen.endGame(false);
-        }
+    /**
+     * Returns the target out of all enemies of the world with the given strategy and counts the search.
+     *
+     * @param strategy the targeting strategy of the turret.
+     * @param radius the range of the turret.
+     * @param xPos the x coordinate of the turret.
+     * @param yPos the y coordinate of the turret.
+     *
+     * @return the target or null, if no enemy is in range.
+     */
+    public GameObjectEnemy findTarget(TargetingStrategy strategy, float radius, float xPos, float yPos) {
+        return findTarget(strategy, enemies, radius, xPos, yPos);
+    }
+
+    /**
+     * Returns the target of a turret with the given strategy out of the given candidates and counts the search. A
+     * turret passes the enemies on the tiles it covers, so the search does not grow with the number of all enemies.
+     *
+     * @param strategy the targeting strategy of the turret.
+     * @param candidates the enemies, the target is chosen from, in the order of their progress.
+     * @param radius the range of the turret.
+     * @param xPos the x coordinate of the turret.
+     * @param yPos the y coordinate of the turret.
+     *
+     * @return the target or null, if no candidate is in range.
+     */
+    public GameObjectEnemy findTarget(TargetingStrategy strategy, ArrayList<GameObjectEnemy> candidates, float radius,
+                                      float xPos, float yPos) {
+        targetSearches++;
+        return strategy.findTarget(this, candidates, radius, xPos, yPos);
     }
 
     /**
-     * Searches for enemies that are in range of the given radius and the given point and returns them in an arraylist.
+     * Returns the enemy, which is the furthest on its way out of all enemies in range of the given radius and the
+     * given point.
      *
      * @param radius the radius in which should be searched
      * @param xPos the x coordinate of the center
      * @param yPos the y coordinate of the center
      *
-     * @return the arraylist with the enemies that are in range of the given parameters.
+     * @return the furthest enemy in range or null, if no enemy is in range.
+     */
+    public GameObjectEnemy findFirstEnemyInRange(float radius, float xPos, float yPos) {
+        return findFirstEnemyInRange(enemies, radius, xPos, yPos);
+    }
+
+    /**
+     * Returns the candidate, which is the furthest on its way out of all candidates in range of the given radius and
+     * the given point. The candidates are walked through in the order of their progress, until the first one in range
+     * is found, so the candidates in range do not have to be compared.
      *
-     * @author Mattis Bühler
+     * @param candidates the enemies in the order of their progress.
+     * @param radius the radius in which should be searched
+     * @param xPos the x coordinate of the center
+     * @param yPos the y coordinate of the center
+     *
+     * @return the furthest candidate in range or null, if no candidate is in range.
+     */
+    public GameObjectEnemy findFirstEnemyInRange(ArrayList<GameObjectEnemy> candidates, float radius, float xPos,
+                                                 float yPos) {
+        return findInOrder(candidates, true, radius, xPos, yPos);
+    }
+
+    /**
+     * Returns the candidate, which is the least far on its way out of all candidates in range of the given radius and
+     * the given point.
+     *
+     * @param candidates the enemies in the order of their progress.
+     * @param radius the radius in which should be searched
+     * @param xPos the x coordinate of the center
+     * @param yPos the y coordinate of the center
+     *
+     * @return the last candidate in range or null, if no candidate is in range.
+     */
+    public GameObjectEnemy findLastEnemyInRange(ArrayList<GameObjectEnemy> candidates, float radius, float xPos,
+                                                float yPos) {
+        return findInOrder(candidates, false, radius, xPos, yPos);
+    }
+
+    /**
+     * Returns the enemy with the most life points out of all enemies in range of the given radius and the given point.
+     * The enemies are walked through in the order of their life points, until the first one in range is found.
+     *
+     * @param radius the radius in which should be searched
+     * @param xPos the x coordinate of the center
+     * @param yPos the y coordinate of the center
+     *
+     * @return the strongest enemy in range or null, if no enemy is in range.
+     */
+    public GameObjectEnemy findStrongestEnemyInRange(float radius, float xPos, float yPos) {
+        return findInOrder(enemiesByLife, true, radius, xPos, yPos);
+    }
+
+    /**
+     * Returns the enemy with the least life points out of all enemies in range of the given radius and the given
+     * point.
+     *
+     * @param radius the radius in which should be searched
+     * @param xPos the x coordinate of the center
+     * @param yPos the y coordinate of the center
+     *
+     * @return the weakest enemy in range or null, if no enemy is in range.
      */
-    public ArrayList<GameObjectEnemy> getEnemiesInRange(float radius, float xPos, float yPos) {
+    public GameObjectEnemy findWeakestEnemyInRange(float radius, float xPos, float yPos) {
+        return findInOrder(enemiesByLife, false, radius, xPos, yPos);
+    }
 
-        ArrayList<GameObjectEnemy> enemiesInRange = new ArrayList<>();
+    /**
+     * Returns the enemy closest to the given point out of all enemies in range of the given radius.
+     *
+     * @param radius the radius in which should be searched
+     * @param xPos the x coordinate of the center
+     * @param yPos the y coordinate of the center
+     *
+     * @return the closest enemy in range or null, if no enemy is in range.
+     */
+    public GameObjectEnemy findClosestEnemyInRange(float radius, float xPos, float yPos) {
+        return enemyGrid.findClosest(radius, xPos, yPos);
+    }
 
-        for (GameObjectEnemy enemy : enemies) {
-            if (checkInRange(enemy, radius, xPos, yPos)) {
-                enemiesInRange.add(enemy);
+    /**
+     * Returns an enemy in range of the given radius and the given point, which stands on the tile with the most
+     * enemies, so an explosion there hits as many enemies as possible.
+     *
+     * @param radius the radius in which should be searched
+     * @param xPos the x coordinate of the center
+     * @param yPos the y coordinate of the center
+     *
+     * @return an enemy of the most crowded tile in range or null, if no enemy is in range.
+     */
+    public GameObjectEnemy findMostClusteredEnemyInRange(float radius, float xPos, float yPos) {
+        return enemyGrid.findMostClustered(radius, xPos, yPos);
+    }
+
+    /**
+     * Walks through an ordered list of enemies from one end, until an enemy in range is found, which the projectiles
+     * flying to it will not kill already.
+     *
+     * @param list the ordered enemies.
+     * @param fromFront if the walk starts at the first enemy of the list, otherwise at the last one.
+     * @param radius the radius in which should be searched
+     * @param xPos the x coordinate of the center
+     * @param yPos the y coordinate of the center
+     *
+     * @return the first found enemy in range or null, if no enemy is in range.
+     */
+    private GameObjectEnemy findInOrder(ArrayList<GameObjectEnemy> list, boolean fromFront, float radius, float xPos,
+                                        float yPos) {
+        for (int i = 0; i<list.size(); i++) {
+            GameObjectEnemy enemy = list.get(fromFront ? i : list.size() - 1 - i);
+            if (!enemy.isDoomed() && checkInRange(enemy, radius, xPos, yPos)) {
+                return enemy;
             }
         }
-        return enemiesInRange;
+        return null;
+    }
+
+    /**
+     * Searches for enemies that are in range of the given radius and the given point and writes them into the given
+     * list, which is cleared first. Only the enemies on the tiles, which overlap the circle, are checked, and the
+     * list can be kept by the caller, so the search allocates nothing.
+     *
+     * @param radius the radius in which should be searched
+     * @param xPos the x coordinate of the center
+     * @param yPos the y coordinate of the center
+     * @param result the list, which is filled with the enemies that are in range of the given parameters.
+     *
+     * @author Mattis Bühler
+     */
+    public void getEnemiesInRange(float radius, float xPos, float yPos, ArrayList<GameObjectEnemy> result) {
+        result.clear();
+        enemyGrid.getEnemiesInRange(radius, xPos, yPos, result);
     }
 
     /**
-     * Checks weather an enemy is in range of the radius or not with the pythagorean theorem.
+     * Calls the visitor for every enemy that is in range of the given radius and the given point.
+     *
+     * @param radius the radius in which should be searched
+     * @param xPos the x coordinate of the center
+     * @param yPos the y coordinate of the center
+     * @param visitor the visitor, which is called for every enemy in range.
+     */
+    public void forEachEnemyInRange(float radius, float xPos, float yPos, EnemyVisitor visitor) {
+        enemyGrid.forEachInRange(radius, xPos, yPos, visitor);
+    }
+
+    /**
+     * Returns the first enemy, which collides with something moving straight from one point to another, for example
+     * a bullet during one frame.
+     *
+     * @param fromX the x coordinate of the start point
+     * @param fromY the y coordinate of the start point
+     * @param toX the x coordinate of the end point
+     * @param toY the y coordinate of the end point
+     *
+     * @return the first hit enemy or null, if no enemy is hit.
+     */
+    public GameObjectEnemy findFirstEnemyHit(float fromX, float fromY, float toX, float toY) {
+        return enemyGrid.findFirstHit(fromX, fromY, toX, toY);
+    }
+
+    /**
+     * Searches for enemies that stand inside of the given rectangle and writes them into the given list, which is
+     * cleared first.
+     *
+     * @param minX the smallest x coordinate of the rectangle.
+     * @param minY the smallest y coordinate of the rectangle.
+     * @param maxX the biggest x coordinate of the rectangle.
+     * @param maxY the biggest y coordinate of the rectangle.
+     * @param result the list, which is filled with the enemies inside the rectangle.
+     */
+    public void getEnemiesInRectangle(float minX, float minY, float maxX, float maxY, ArrayList<GameObjectEnemy> result) {
+        result.clear();
+        enemyGrid.getEnemiesInRectangle(minX, minY, maxX, maxY, result);
+    }
+
+    /**
+     * Checks weather an enemy is in range of the radius or not with the pythagorean theorem. The squared distance is
+     * compared with the squared radius, so no square root is needed.
      *
      * @param enemy the enemy which is checked.
      * @param radius the radius in which the enemy could be.
@@ -173,11 +578,19 @@ public class GameWorld {
      * @author Mattis Bühler
      */
     public boolean checkInRange(GameObjectEnemy enemy, float radius, float xPos, float yPos) {
-        float distance;
-        //pythagorean theorem to get distance
-        distance = (float) sqrt(((xPos - enemy.getX()) * (xPos - enemy.getX())) + ((yPos - enemy.getZ()) * (yPos - enemy.getZ())));
+        float xDistance = xPos - enemy.getX();
+        float yDistance = yPos - enemy.getZ();
+
+        return xDistance * xDistance + yDistance * yDistance <= radius * radius;
+    }
 
-        return distance <= radius;
+    /**
+     * Returns how often turrets have searched for a new target since the world was created.
+     *
+     * @return the number of target searches.
+     */
+    public int getTargetSearches() {
+        return targetSearches;
     }
 
     /**
@@ -190,7 +603,53 @@ public class GameWorld {
     }
 
     /**
-     * Returns all enemies that are updated in the world.
+     * Returns the flow field of the world, which leads all enemies to their closest endportal.
+     *
+     * @return the flow field of the type FlowField.
+     */
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    /**
+     * Returns the placement analysis of the world, which tells which tiles can be manned without disconnecting a
+     * startportal from all endportals.
+     *
+     * @return the placement analysis of the type PlacementAnalysis.
+     */
+    public PlacementAnalysis getPlacementAnalysis() {
+        return placementAnalysis;
+    }
+
+    /**
+     * Returns the store, which holds the position, the movement and the life points of all enemies in the world.
+     *
+     * @return the enemy store.
+     */
+    public EnemyStore getEnemyStore() {
+        return enemyStore;
+    }
+
+    /**
+     * Returns the grid of all enemies in the world, which has to be updated when an enemy moves.
+     *
+     * @return the enemy grid.
+     */
+    public EnemyGrid getEnemyGrid() {
+        return enemyGrid;
+    }
+
+    /**
+     * Returns the slow field of the world, which holds the speed multiplier of every tile.
+     *
+     * @return the slow field.
+     */
+    public SlowField getSlowField() {
+        return slowField;
+    }
+
+    /**
+     * Returns all enemies that are updated in the world, ordered by their progress, the furthest first.
      *
      * @return the enemies of the world
      */
@@ -204,7 +663,33 @@ public class GameWorld {
      * @return the turrets of the world
      */
     public ArrayList<AbstractTurret> getTurrets() {
-        return turrets;
+        return placeables.getTurrets();
+    }
+
+    /**
+     * Adds all turrets to the result, which stand on a tile inside of the given rectangle.
+     *
+     * @param minX the smallest x coordinate of the rectangle.
+     * @param minY the smallest y coordinate of the rectangle.
+     * @param maxX the biggest x coordinate of the rectangle.
+     * @param maxY the biggest y coordinate of the rectangle.
+     * @param result the list, which is filled with the turrets inside the rectangle.
+     */
+    public void getTurretsInRectangle(float minX, float minY, float maxX, float maxY, ArrayList<AbstractTurret> result) {
+        result.clear();
+        placeables.getTurretsInRectangle(minX, minY, maxX, maxY, result);
+    }
+
+    /**
+     * Returns the type of the turret, which stands on a tile.
+     *
+     * @param xPos the x coordinate of the tile.
+     * @param yPos the y coordinate of the tile.
+     *
+     * @return the type of the turret, one of the types of the PlaceableRegistry, NONE if there is no turret.
+     */
+    public byte getTurretType(int xPos, int yPos) {
+        return placeables.getType(xPos, yPos);
     }
 
     /**
@@ -214,7 +699,7 @@ public class GameWorld {
      * @param yCoord the y coordinate of the tile.
      */
     public void setManned(int xCoord, int yCoord) {
-        field.mannedTiles[xCoord][yCoord] = true;
+        field.setManned(xCoord, yCoord);
     }
 
     /**
@@ -224,47 +709,131 @@ public class GameWorld {
      * @param yCoord the y coordinate of the tile.
      */
     public void setUnmanned(int xCoord, int yCoord) {
-        field.mannedTiles[xCoord][yCoord] = false;
+        field.setUnmanned(xCoord, yCoord);
+    }
+
+    /**
+     * Adds an enemy to the world, which is updated from now on. Its values are moved into the enemy store of the
+     * world, if they are not kept there already.
+     *
+     * @param enemy the enemy to add.
+     */
+    public void addEnemy(GameObjectEnemy enemy) {
+        enemyStore.adopt(enemy);
+        enemies.add(enemy);
+        enemiesByLife.add(enemy);
+        enemyGrid.add(enemy);
+        sortEnemies();
+        engine.addEntity(new Entity().add(new EnemyComponent(enemy)));
     }
 
     /**
      * Adds a new enemy of the type BossUnit to the world.
+     *
+     * @param portal the number of the startportal, the enemy starts from.
      */
-    public void addBossUnit() {
-        enemies.add(new BossUnit(startPoint, endPoint,this, screen));
+    public void addBossUnit(int portal) {
+        addEnemy(new BossUnit(startPoints[portal], this, screen));
     }
 
     /**
      * Adds a new enemy of the type Infantry to the world.
+     *
+     * @param portal the number of the startportal, the enemy starts from.
      */
-    public void addInfantry() {
-        enemies.add(new Infantry(startPoint, endPoint,this, screen));
+    public void addInfantry(int portal) {
+        addEnemy(new Infantry(startPoints[portal], this, screen));
     }
 
     /**
      * Adds a new enemy of the type Harvester to the world.
+     *
+     * @param portal the number of the startportal, the enemy starts from.
      */
-    public void addHarvester() {
-        enemies.add(new Harvester(startPoint, endPoint,this, screen));
+    public void addHarvester(int portal) {
+        addEnemy(new Harvester(startPoints[portal], this, screen));
     }
 
     /**
-     * Returns the manned state of the field.
+     * Checks if a start- or endportal stands on a tile.
      *
-     * @return an array with the manned states
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return if the tile is a portal.
      */
-    public boolean[][] getMannedTiles() {
-        return field.mannedTiles;
+    public boolean isPortal(int xCoord, int yCoord) {
+        for (Point startPoint : startPoints) {
+            if (startPoint.x == xCoord && startPoint.y == yCoord) {
+                return true;
+            }
+        }
+        for (Point endPoint : endPoints) {
+            if (endPoint.x == xCoord && endPoint.y == yCoord) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Returns the fastest path from the start- to the endpoint on the field. Without going diagonal and without
-     * visiting manned tiles.
+     * Returns the manned state of a tile of the field.
      *
-     * @return an arraylist of the points of path in order
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return if the tile is manned.
      */
-    public ArrayList<Point> getPath() {
-        return field.findWay(startPoint, endPoint);
+    public boolean isManned(int xCoord, int yCoord) {
+        return field.isManned(xCoord, yCoord);
+    }
+
+    /**
+     * Returns the fastest path from every startportal to its closest endportal on the field. Without going diagonal
+     * and without visiting manned tiles.
+     *
+     * @return the packed paths in the order of the startportals, which are shared until the field changes and must
+     * not be changed.
+     */
+    public PackedPath[] getPaths() {
+        return field.findWays(startPoints, endPoints);
+    }
+
+    /**
+     * Returns the number of tiles on the paths of all startportals, which are covered by no turret, so the player
+     * knows how much of the way the enemies walk undefended. A tile shared by several paths is counted for each. The
+     * number is only counted again, after the field or the turrets changed.
+     *
+     * @return the number of undefended path tiles.
+     */
+    public int getUndefendedPathTiles() {
+        if (undefendedGeneration == field.getGeneration() && undefendedVersion == placeables.getVersion()) {
+            return undefendedPathTiles;
+        }
+        undefendedGeneration = field.getGeneration();
+        undefendedVersion = placeables.getVersion();
+
+        int undefended = 0;
+        PackedPath[] paths = getPaths();
+        for (int k = 0; k<paths.length; k++) {
+            for (int i = 0; i<paths[k].size(); i++) {
+                int tile = paths[k].getTile(i);
+                if (coverage.getCoverCount(tile % cols, tile / cols) == 0) {
+                    undefended++;
+                }
+            }
+        }
+        undefendedPathTiles = undefended;
+        return undefended;
+    }
+
+    /**
+     * Returns the index of the turrets covering every tile.
+     *
+     * @return the turret coverage.
+     */
+    public TurretCoverage getCoverage() {
+        return coverage;
     }
 
     /**
@@ -274,7 +843,7 @@ public class GameWorld {
      * @param yPos the y coordinate of the tile, the new turret will stand on.
      */
     public void addSoundTurret(int xPos, int yPos) {
-        turrets.add(new SoundTurret(new Point(xPos, yPos), this, screen));
+        addTurret(new SoundTurret(new Point(xPos, yPos), this, screen), PlaceableRegistry.SOUND_TURRET);
     }
 
     /**
@@ -282,9 +851,14 @@ public class GameWorld {
      *
      * @param xPos the x coordinate of the tile, the new turret will stand on.
      * @param yPos the y coordinate of the tile, the new turret will stand on.
+     * @param strategy the targeting strategy of the turret or null for the default strategy.
      */
-    public void addGunTurret(int xPos, int yPos) {
-        turrets.add(new GunTurret(new Point(xPos, yPos), this, screen, true));
+    public void addGunTurret(int xPos, int yPos, TargetingStrategy strategy) {
+        GunTurret turret = new GunTurret(new Point(xPos, yPos), this, screen, true);
+        if (strategy != null) {
+            turret.setStrategy(strategy);
+        }
+        addTurret(turret, PlaceableRegistry.GUN_TURRET);
     }
 
     /**
@@ -292,9 +866,25 @@ public class GameWorld {
      *
      * @param xPos the x coordinate of the tile, the new turret will stand on.
      * @param yPos the y coordinate of the tile, the new turret will stand on.
+     * @param strategy the targeting strategy of the turret or null for the default strategy.
+     */
+    public void addBombTurret(int xPos, int yPos, TargetingStrategy strategy) {
+        BombTurret turret = new BombTurret(new Point(xPos, yPos), this, screen);
+        if (strategy != null) {
+            turret.setStrategy(strategy);
+        }
+        addTurret(turret, PlaceableRegistry.BOMB_TURRET);
+    }
+
+    /**
+     * Adds a turret to the registry and as an entity to the engine.
+     *
+     * @param turret the new turret.
+     * @param type the type of the turret.
      */
-    public void addBombTurret(int xPos, int yPos) {
-        turrets.add(new BombTurret(new Point(xPos, yPos), this, screen));
+    private void addTurret(AbstractTurret turret, byte type) {
+        placeables.add(turret, type);
+        engine.addEntity(new Entity().add(new TurretComponent(turret)));
     }
 
     /**
@@ -303,16 +893,14 @@ public class GameWorld {
      * @param xPos the x coordinate of the tile the turret stands on.
      * @param yPos the y coordinate of the tile the turret stands on.
      *
-     * @return the turret which is removed.
+     * @return the turret which is removed or null, if there is no turret on the tile.
      */
     public AbstractTurret destroyTurret(int xPos, int yPos) {
-        for (AbstractTurret turret : turrets) {
-            if (turret.position.x == xPos && turret.position.y == yPos) {
-                turret.destroyMe = true;
-                return turret;
-            }
+        AbstractTurret turret = placeables.get(xPos, yPos);
+        if (turret != null) {
+            turret.destroyMe = true;
         }
-        return null;
+        return turret;
     }
 
     /**
@@ -331,7 +919,7 @@ public class GameWorld {
      * @param shai the ShaiHulud which will be added to the world.
      */
     public void addShaiHulud(ShaiHulud shai) {
-        shaiHuluds.add(shai);
+        engine.addEntity(new Entity().add(new WormComponent(shai)));
     }
 
     /**
@@ -341,16 +929,19 @@ public class GameWorld {
      * @param yPos the y coordinate of the tile, the debris wills stand on.
      */
     public void addDebris(int xPos, int yPos) {
-        debris.add(new Debris(screen, this, xPos, yPos));
+        engine.addEntity(new Entity().add(new DebrisComponent(new Debris(screen, this, xPos, yPos))));
     }
 
     /**
-     * Removes all debris that currently exist in the world from it.
+     * Removes all debris that currently exist in the world from it. The entities are walked through from the back, so
+     * removing them does not skip any.
      */
     public void removeDebris() {
-        for (int i = 0; i<debris.size(); i++) {
-            debris.get(i).destroyDebris();
-            debris.remove(debris.get(i));
+        ImmutableArray<Entity> entities = engine.getEntitiesFor(debrisFamily);
+        for (int i = entities.size() - 1; i >= 0; i--) {
+            Entity entity = entities.get(i);
+            entity.getComponent(DebrisComponent.class).debris.destroyDebris();
+            engine.removeEntity(entity);
         }
     }
 
@@ -364,12 +955,80 @@ public class GameWorld {
     }
 
     /**
-     * Adds a bullet to the world, which now will be updated.
+     * Adds a fired bullet to the world, which now will be updated.
      *
      * @param bullet the bullet which will be updated now.
      */
     public void addBullet(Bullet bullet) {
-        bullets.add(bullet);
+        engine.addEntity(bullet.getEntity());
+    }
+
+    /**
+     * Returns the pool of the bullets of the gun turrets.
+     *
+     * @return the bullet pool.
+     */
+    public Pool<Bullet> getBulletPool() {
+        return bulletPool;
+    }
+
+    /**
+     * Returns the pool of the bombs of the bomb turrets.
+     *
+     * @return the bomb pool.
+     */
+    public Pool<Bomb> getBombPool() {
+        return bombPool;
+    }
+
+    /**
+     * Returns the pool of the explosions of the bombs.
+     *
+     * @return the explosion pool.
+     */
+    public Pool<Explosion> getExplosionPool() {
+        return explosionPool;
+    }
+
+    /**
+     * Fills the pools of the enemy models, so every enemy of the next wave finds a model without creating a new
+     * scene. It is called in the building phase, when no enemy is in the world and all models are free.
+     *
+     * @param infantries the number of infantries of the next wave.
+     * @param harvesters the number of harvesters of the next wave.
+     * @param bossUnits the number of bossUnits of the next wave.
+     */
+    public void prepareEnemyModels(int infantries, int harvesters, int bossUnits) {
+        infantryModels.warmUp(infantries);
+        harvesterModels.warmUp(harvesters);
+        bossUnitModels.warmUp(bossUnits);
+    }
+
+    /**
+     * Returns the pool of the infantry models.
+     *
+     * @return the infantry models.
+     */
+    public EnemyModelPool getInfantryModels() {
+        return infantryModels;
+    }
+
+    /**
+     * Returns the pool of the harvester models.
+     *
+     * @return the harvester models.
+     */
+    public EnemyModelPool getHarvesterModels() {
+        return harvesterModels;
+    }
+
+    /**
+     * Returns the pool of the bossUnit models.
+     *
+     * @return the bossUnit models.
+     */
+    public EnemyModelPool getBossUnitModels() {
+        return bossUnitModels;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package io.swapastack.dunetd.world.components;
+
+import com.badlogic.ashley.core.Component;
+import io.swapastack.dunetd.world.placeable.shaiHulud.Debris;
+
+/**
+ * The DebrisComponent class.
+ * Holds the debris of an entity, which a ShaiHulud left behind on the tile of a turret.
+ *
+ * @author Mattis Bühler
+ */
+public class DebrisComponent implements Component {
+    //Debris
+    public final Debris debris;
+
+    /**
+     * The constructor of the DebrisComponent class.
+     *
+     * @param debris the debris of the entity.
+     */
+    public DebrisComponent(Debris debris) {
+        this.debris = debris;
+    }
+}
@@ -0,0 +1,24 @@
+package io.swapastack.dunetd.world.components;
+
+import com.badlogic.ashley.core.Component;
+import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
+
+/**
+ * The EnemyComponent class.
+ * Holds the enemy of an entity, so the entity is moved by the EnemySystem.
+ *
+ * @author Mattis Bühler
+ */
+public class EnemyComponent implements Component {
+    //GameObjectEnemy
+    public final GameObjectEnemy enemy;
+
+    /**
+     * The constructor of the EnemyComponent class.
+     *
+     * @param enemy the enemy of the entity.
+     */
+    public EnemyComponent(GameObjectEnemy enemy) {
+        this.enemy = enemy;
+    }
+}
@@ -0,0 +1,24 @@
+package io.swapastack.dunetd.world.components;
+
+import com.badlogic.ashley.core.Component;
+import io.swapastack.dunetd.world.placeable.turret.Bullet;
+
+/**
+ * The ProjectileComponent class.
+ * Holds the bullet or bomb of an entity, so the entity flies in the ProjectileSystem.
+ *
+ * @author Mattis Bühler
+ */
+public class ProjectileComponent implements Component {
+    //Bullet
+    public final Bullet bullet;
+
+    /**
+     * The constructor of the ProjectileComponent class.
+     *
+     * @param bullet the bullet of the entity.
+     */
+    public ProjectileComponent(Bullet bullet) {
+        this.bullet = bullet;
+    }
+}
@@ -0,0 +1,24 @@
+package io.swapastack.dunetd.world.components;
+
+import com.badlogic.ashley.core.Component;
+import io.swapastack.dunetd.world.placeable.turret.AbstractTurret;
+
+/**
+ * The TurretComponent class.
+ * Holds the turret of an entity, so the entity aims and shoots in the TurretSystem.
+ *
+ * @author Mattis Bühler
+ */
+public class TurretComponent implements Component {
+    //AbstractTurret
+    public final AbstractTurret turret;
+
+    /**
+     * The constructor of the TurretComponent class.
+     *
+     * @param turret the turret of the entity.
+     */
+    public TurretComponent(AbstractTurret turret) {
+        this.turret = turret;
+    }
+}
@@ -0,0 +1,24 @@
+package io.swapastack.dunetd.world.components;
+
+import com.badlogic.ashley.core.Component;
+import io.swapastack.dunetd.world.placeable.shaiHulud.ShaiHulud;
+
+/**
+ * The WormComponent class.
+ * Holds the ShaiHulud of an entity, so the entity crosses the field in the WormSystem.
+ *
+ * @author Mattis Bühler
+ */
+public class WormComponent implements Component {
+    //ShaiHulud
+    public final ShaiHulud shaiHulud;
+
+    /**
+     * The constructor of the WormComponent class.
+     *
+     * @param shaiHulud the shaiHulud of the entity.
+     */
+    public WormComponent(ShaiHulud shaiHulud) {
+        this.shaiHulud = shaiHulud;
+    }
+}
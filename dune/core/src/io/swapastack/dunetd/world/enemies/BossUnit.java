@@ -8,7 +8,7 @@ import io.swapastack.dunetd.screens.MainMenuScreen;
 import net.mgsx.gltf.scene3d.scene.Scene;
 
 import java.awt.*;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The BossUnit class.
@@ -27,12 +27,11 @@ public class BossUnit extends GameObjectEnemy {
      * Calls the create method.
      *
      * @param startPoint the position, the BossUnit will start from.
-     * @param endPoint the position, the BossUnit will run to.
      * @param world the world in which the BossUnit exists.
      * @param screen the screen in which the BossUnit exists.
      */
-    public BossUnit(Point startPoint, Point endPoint, GameWorld world, GameScreen screen) {
-        super(startPoint, endPoint, world, screen);
+    public BossUnit(Point startPoint, GameWorld world, GameScreen screen) {
+        super(startPoint, world, screen);
         create();
     }
 
@@ -54,34 +53,41 @@ public class BossUnit extends GameObjectEnemy {
      * @param position the position of the BossUnit in the world.
      * @param path the path, the BossUnit has to walk, to reach the endportal.
      */
-    public BossUnit(Vector3 position, ArrayList<Point> path) {
+    public BossUnit(Vector3 position, List<Point> path) {
         super(position, path);
     }
 
 
     /**
-     * The create method which sets the values of the object, creates the bossUnit scene and the animationController.
+     * Creates a model with a new bossUnit scene and its animationController.
+     *
+     * @param screen the screen with the scene assets.
+     *
+     * @return the new model.
+     */
+    public static EnemyModel createModel(GameScreen screen) {
+        return new EnemyModel(new Scene(screen.sceneAssetHashMap.get("faceted_character/scene.gltf").scene),
+                "Armature|Run");
+    }
+
+    /**
+     * The create method which sets the values of the object, takes the bossUnit scene and the animationController
+     * out of the pool of the world.
      */
     public void create() {
-        speed = 0.0001f * MainMenuScreen.bossunitSpeed.get();
-        slowedSpeed = speed*(1-slowPercentage);
-        lifePoints = MainMenuScreen.bossunitLife.get();
+        setSpeed(0.0001f * MainMenuScreen.bossunitSpeed.get());
+        setLifePoints(MainMenuScreen.bossunitLife.get());
         damageToPlayer = MainMenuScreen.bossunitDamage.get();
         scoreValue = MainMenuScreen.bossunitScore.get();
         spiceValue = MainMenuScreen.bossunitSpice.get();
 
         scaling = new Vector3(0.005f,0.005f,0.005f);
 
-        enemyScene = new Scene(screen.sceneAssetHashMap.get("faceted_character/scene.gltf").scene);
+        acBoss = obtainModel(world.getBossUnitModels()).controller;
         enemyScene.modelInstance.transform.setToTranslation(getX(), screen.groundTileDimensions.y, getZ()).scl(scaling);
         screen.addingScene(enemyScene);
 
         radius = 0.3f;
-
-        acBoss = new AnimationController(enemyScene.modelInstance);
-        acBoss.setAnimation("Armature|Run", -1);
-
-        setPath(world.getField());
     }
 
     /**
@@ -95,10 +101,8 @@ public class BossUnit extends GameObjectEnemy {
     public void update(float delta) {
         super.update(delta);
 
-        isSlowed = false;
-
         enemyScene.modelInstance.transform.setToTranslation(getX(), screen.groundTileDimensions.y, getZ()).scl(scaling)
-                .rotate(new Vector3(0.0f, 1.0f, 0.0f), getRotation());
+                .rotate(Vector3.Y, getRotation());
 
         acBoss.update(delta);
     }
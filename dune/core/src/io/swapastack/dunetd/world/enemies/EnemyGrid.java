@@ -0,0 +1,380 @@
+package io.swapastack.dunetd.world.enemies;
+
+import java.util.ArrayList;
+
+/**
+ * The EnemyGrid class.
+ * A spatial hash of all enemies of a world, with one bucket per tile, please refer
+ * https://en.wikipedia.org/wiki/Spatial_hashing. An enemy belongs to the tile, its position rounds to, and is only
+ * moved to another bucket when it crosses the border between two tiles. A range query only visits the buckets of the
+ * tiles, which overlap the circle, so its cost depends on the size of the circle and not on the number of enemies.
+ *
+ * @author Mattis Bühler
+ */
+public class EnemyGrid {
+    //Field dimension
+    private final int rows;
+    private final int cols;
+
+    //Enemies of every tile, created when the first enemy enters the tile
+    private final ArrayList<ArrayList<GameObjectEnemy>> cells;
+
+    //Biggest hitbox radius of all added enemies
+    private float maxRadius;
+
+    /**
+     * The constructor of the EnemyGrid class, creates a grid without enemies.
+     *
+     * @param rows the rows of the field.
+     * @param cols the cols of the field.
+     */
+    public EnemyGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        cells = new ArrayList<>(rows * cols);
+        for (int index = 0; index < rows * cols; index++) {
+            cells.add(null);
+        }
+    }
+
+    /**
+     * Adds an enemy to the bucket of its current tile.
+     *
+     * @param enemy the enemy to add.
+     */
+    public void add(GameObjectEnemy enemy) {
+        maxRadius = Math.max(maxRadius, enemy.radius);
+        insert(enemy, getCell(enemy.getX(), enemy.getZ()));
+    }
+
+    /**
+     * Removes an enemy from its bucket, nothing happens if the enemy was not added.
+     *
+     * @param enemy the enemy to remove.
+     */
+    public void remove(GameObjectEnemy enemy) {
+        if (enemy.cell < 0) {
+            return;
+        }
+        ArrayList<GameObjectEnemy> cell = cells.get(enemy.cell);
+        GameObjectEnemy last = cell.remove(cell.size() - 1);
+        if (last != enemy) {
+            cell.set(enemy.cellSlot, last);
+            last.cellSlot = enemy.cellSlot;
+        }
+        enemy.cell = -1;
+    }
+
+    /**
+     * Moves an added enemy to the bucket of the tile, its position belongs to now. Nothing happens as long as the
+     * enemy stays on its tile.
+     *
+     * @param enemy the enemy, which has moved.
+     */
+    public void update(GameObjectEnemy enemy) {
+        int cell = getCell(enemy.getX(), enemy.getZ());
+        if (enemy.cell >= 0 && enemy.cell != cell) {
+            remove(enemy);
+            insert(enemy, cell);
+        }
+    }
+
+    /**
+     * Adds all enemies to the result, which are in range of the given radius and the given point. Only the tiles,
+     * which overlap the circle, are visited.
+     *
+     * @param radius the radius in which should be searched.
+     * @param xPos the x coordinate of the center.
+     * @param yPos the y coordinate of the center.
+     * @param result the list, the enemies in range are added to.
+     */
+    public void getEnemiesInRange(float radius, float xPos, float yPos, ArrayList<GameObjectEnemy> result) {
+        searchCircle(radius, xPos, yPos, result, null);
+    }
+
+    /**
+     * Calls the visitor for all enemies, which are in range of the given radius and the given point. Only the tiles,
+     * which overlap the circle, are visited.
+     *
+     * @param radius the radius in which should be searched.
+     * @param xPos the x coordinate of the center.
+     * @param yPos the y coordinate of the center.
+     * @param visitor the visitor, which is called for every enemy in range.
+     */
+    public void forEachInRange(float radius, float xPos, float yPos, EnemyVisitor visitor) {
+        searchCircle(radius, xPos, yPos, null, visitor);
+    }
+
+    /**
+     * Returns the enemy in range of the given radius, which is closest to the given point. The tiles are visited in
+     * rings around the tile of the point, and the search stops, when the next ring can not hold a closer enemy.
+     * Enemies, which the projectiles flying to them will kill, are skipped.
+     *
+     * @param radius the radius in which should be searched.
+     * @param xPos the x coordinate of the point.
+     * @param yPos the y coordinate of the point.
+     *
+     * @return the closest enemy or null, if there is no enemy in range.
+     *
+     * @author Mattis Bühler
+     */
+    public GameObjectEnemy findClosest(float radius, float xPos, float yPos) {
+        int centerX = Math.min(Math.max(Math.round(xPos), 0), cols - 1);
+        int centerY = Math.min(Math.max(Math.round(yPos), 0), rows - 1);
+        GameObjectEnemy closest = null;
+        float closestDistance = radius * radius;
+
+        //every tile of a ring is at least ring - 1 away from a point on the center tile
+        for (int ring = 0; ring - 1 <= radius; ring++) {
+            if (closest != null && (ring - 1) * (ring - 1) > closestDistance) {
+                break;
+            }
+            for (int y = Math.max(centerY - ring, 0); y <= Math.min(centerY + ring, rows - 1); y++) {
+                //only the first and the last row of a ring are visited completely
+                int step = y == centerY - ring || y == centerY + ring ? 1 : 2 * ring;
+                for (int x = centerX - ring; x <= centerX + ring; x += step) {
+                    ArrayList<GameObjectEnemy> cell = x < 0 || x >= cols ? null : cells.get(y * cols + x);
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < cell.size(); i++) {
+                        GameObjectEnemy enemy = cell.get(i);
+                        float deltaX = xPos - enemy.getX();
+                        float deltaY = yPos - enemy.getZ();
+                        float distance = deltaX * deltaX + deltaY * deltaY;
+                        if (distance <= closestDistance && (closest == null || distance < closestDistance)
+                                && !enemy.isDoomed()) {
+                            closest = enemy;
+                            closestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Returns an enemy in range of the given radius, which stands on the tile with the most enemies. The number of
+     * enemies on a tile is known from its bucket, so only the tiles, which have more enemies than the best tile so
+     * far, are checked for an enemy in range. Enemies, which the projectiles flying to them will kill, are skipped.
+     *
+     * @param radius the radius in which should be searched.
+     * @param xPos the x coordinate of the center.
+     * @param yPos the y coordinate of the center.
+     *
+     * @return an enemy of the most crowded tile or null, if there is no enemy in range.
+     *
+     * @author Mattis Bühler
+     */
+    public GameObjectEnemy findMostClustered(float radius, float xPos, float yPos) {
+        int minX = Math.max(Math.round(xPos - radius), 0);
+        int maxX = Math.min(Math.round(xPos + radius), cols - 1);
+        int minY = Math.max(Math.round(yPos - radius), 0);
+        int maxY = Math.min(Math.round(yPos + radius), rows - 1);
+        float radiusSquared = radius * radius;
+
+        GameObjectEnemy target = null;
+        int targetCount = 0;
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                ArrayList<GameObjectEnemy> cell = cells.get(y * cols + x);
+                if (cell == null || cell.size() <= targetCount) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    GameObjectEnemy enemy = cell.get(i);
+                    float deltaX = xPos - enemy.getX();
+                    float deltaY = yPos - enemy.getZ();
+                    if (deltaX * deltaX + deltaY * deltaY <= radiusSquared && !enemy.isDoomed()) {
+                        target = enemy;
+                        targetCount = cell.size();
+                        break;
+                    }
+                }
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Returns the enemy, which is hit first by something moving straight from one point to another, like a bullet
+     * during one frame. The whole segment is checked against the hitbox of the enemies, so fast bullets can not pass
+     * through an enemy between two frames. Only the enemies on the tiles around the segment are checked.
+     *
+     * @param fromX the x coordinate of the start of the segment.
+     * @param fromY the y coordinate of the start of the segment.
+     * @param toX the x coordinate of the end of the segment.
+     * @param toY the y coordinate of the end of the segment.
+     *
+     * @return the first hit enemy or null, if no enemy is hit.
+     *
+     * @author Mattis Bühler
+     */
+    public GameObjectEnemy findFirstHit(float fromX, float fromY, float toX, float toY) {
+        int minX = Math.max(Math.round(Math.min(fromX, toX) - maxRadius), 0);
+        int maxX = Math.min(Math.round(Math.max(fromX, toX) + maxRadius), cols - 1);
+        int minY = Math.max(Math.round(Math.min(fromY, toY) - maxRadius), 0);
+        int maxY = Math.min(Math.round(Math.max(fromY, toY) + maxRadius), rows - 1);
+
+        GameObjectEnemy firstEnemy = null;
+        float firstTime = Float.MAX_VALUE;
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                ArrayList<GameObjectEnemy> cell = cells.get(y * cols + x);
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    float time = getHitTime(cell.get(i), fromX, fromY, toX, toY);
+                    if (time < firstTime) {
+                        firstTime = time;
+                        firstEnemy = cell.get(i);
+                    }
+                }
+            }
+        }
+        return firstEnemy;
+    }
+
+    /**
+     * Returns when something moving straight from one point to another enters the hitbox of an enemy, please refer
+     * https://en.wikipedia.org/wiki/Line%E2%80%93sphere_intersection. The hitbox is a circle with the radius of the
+     * enemy.
+     *
+     * @param enemy the enemy, which could be hit.
+     * @param fromX the x coordinate of the start of the segment.
+     * @param fromY the y coordinate of the start of the segment.
+     * @param toX the x coordinate of the end of the segment.
+     * @param toY the y coordinate of the end of the segment.
+     *
+     * @return the part of the segment until the hit between 0 and 1, or Float.MAX_VALUE, if the enemy is not hit.
+     *
+     * @author Mattis Bühler
+     */
+    public static float getHitTime(GameObjectEnemy enemy, float fromX, float fromY, float toX, float toY) {
+        float directionX = toX - fromX;
+        float directionY = toY - fromY;
+        float offsetX = fromX - enemy.getX();
+        float offsetY = fromY - enemy.getZ();
+
+        float c = offsetX * offsetX + offsetY * offsetY - enemy.radius * enemy.radius;
+        //start inside of the hitbox
+        if (c <= 0) {
+            return 0;
+        }
+        float a = directionX * directionX + directionY * directionY;
+        float b = offsetX * directionX + offsetY * directionY;
+        //not moving or moving away from the enemy
+        if (a == 0 || b >= 0) {
+            return Float.MAX_VALUE;
+        }
+        float discriminant = b * b - a * c;
+        if (discriminant < 0) {
+            return Float.MAX_VALUE;
+        }
+        float time = (-b - (float) Math.sqrt(discriminant)) / a;
+        return time <= 1 ? time : Float.MAX_VALUE;
+    }
+
+    /**
+     * Adds all enemies to the result, which stand inside of the given rectangle, borders included.
+     *
+     * @param minX the smallest x coordinate of the rectangle.
+     * @param minY the smallest y coordinate of the rectangle.
+     * @param maxX the biggest x coordinate of the rectangle.
+     * @param maxY the biggest y coordinate of the rectangle.
+     * @param result the list, the enemies inside are added to.
+     */
+    public void getEnemiesInRectangle(float minX, float minY, float maxX, float maxY, ArrayList<GameObjectEnemy> result) {
+        for (int y = Math.max(Math.round(minY), 0); y <= Math.min(Math.round(maxY), rows - 1); y++) {
+            for (int x = Math.max(Math.round(minX), 0); x <= Math.min(Math.round(maxX), cols - 1); x++) {
+                ArrayList<GameObjectEnemy> cell = cells.get(y * cols + x);
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    GameObjectEnemy enemy = cell.get(i);
+                    if (enemy.getX() >= minX && enemy.getX() <= maxX && enemy.getZ() >= minY && enemy.getZ() <= maxY) {
+                        result.add(enemy);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds all enemies within a circle, only the tiles, which overlap the circle, are visited. Distances are compared
+     * squared, so no square root is needed. The found enemies are either added to the result or passed to the visitor.
+     *
+     * @param radius the radius of the circle.
+     * @param xPos the x coordinate of the center.
+     * @param yPos the y coordinate of the center.
+     * @param result the list, the enemies are added to, or null.
+     * @param visitor the visitor, which is called for the enemies, if there is no result list.
+     *
+     * @author Mattis Bühler
+     */
+    private void searchCircle(float radius, float xPos, float yPos, ArrayList<GameObjectEnemy> result,
+                              EnemyVisitor visitor) {
+        int minX = Math.max(Math.round(xPos - radius), 0);
+        int maxX = Math.min(Math.round(xPos + radius), cols - 1);
+        int minY = Math.max(Math.round(yPos - radius), 0);
+        int maxY = Math.min(Math.round(yPos + radius), rows - 1);
+        float radiusSquared = radius * radius;
+
+        for (int y = minY; y <= maxY; y++) {
+            float distanceY = Math.max(Math.abs(y - yPos) - 0.5f, 0);
+            for (int x = minX; x <= maxX; x++) {
+                float distanceX = Math.max(Math.abs(x - xPos) - 0.5f, 0);
+                ArrayList<GameObjectEnemy> cell = cells.get(y * cols + x);
+                //skip empty tiles and corners of the square, which lie outside of the circle
+                if (cell == null || distanceX * distanceX + distanceY * distanceY > radiusSquared) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    GameObjectEnemy enemy = cell.get(i);
+                    float deltaX = xPos - enemy.getX();
+                    float deltaY = yPos - enemy.getZ();
+                    if (deltaX * deltaX + deltaY * deltaY <= radiusSquared) {
+                        if (result != null) {
+                            result.add(enemy);
+                        } else {
+                            visitor.visit(enemy);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds an enemy to the bucket of a tile.
+     *
+     * @param enemy the enemy to add.
+     * @param cell the index of the tile.
+     */
+    private void insert(GameObjectEnemy enemy, int cell) {
+        if (cells.get(cell) == null) {
+            cells.set(cell, new ArrayList<>());
+        }
+        enemy.cell = cell;
+        enemy.cellSlot = cells.get(cell).size();
+        cells.get(cell).add(enemy);
+    }
+
+    /**
+     * Returns the index of the tile, a position belongs to. Positions outside of the field belong to the closest
+     * tile at the border.
+     *
+     * @param xPos the x coordinate of the position.
+     * @param yPos the y coordinate of the position.
+     *
+     * @return the index of the tile.
+     */
+    private int getCell(float xPos, float yPos) {
+        int x = Math.min(Math.max(Math.round(xPos), 0), cols - 1);
+        int y = Math.min(Math.max(Math.round(yPos), 0), rows - 1);
+        return y * cols + x;
+    }
+}
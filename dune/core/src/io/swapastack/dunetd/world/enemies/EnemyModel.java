@@ -0,0 +1,36 @@
+package io.swapastack.dunetd.world.enemies;
+
+import com.badlogic.gdx.graphics.g3d.utils.AnimationController;
+import net.mgsx.gltf.scene3d.scene.Scene;
+
+/**
+ * The EnemyModel class.
+ * Holds the scene of an enemy and the animationController of the scene. Copying the node tree of a scene is
+ * expensive, so the models are kept in pools of the world and handed from a dead enemy to the next spawned one.
+ *
+ * @author Mattis Bühler
+ */
+public class EnemyModel {
+
+    //Scene and its animationController, null if the scene has no animation
+    public final Scene scene;
+    public final AnimationController controller;
+
+    /**
+     * Constructor of the EnemyModel class.
+     * Starts the given animation of the scene in an endless loop, it keeps running while the model is used by
+     * different enemies.
+     *
+     * @param scene the scene of the enemy.
+     * @param animation the name of the animation or null, if the scene is not animated.
+     */
+    public EnemyModel(Scene scene, String animation) {
+        this.scene = scene;
+        if (animation != null) {
+            controller = new AnimationController(scene.modelInstance);
+            controller.setAnimation(animation, -1);
+        } else {
+            controller = null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.swapastack.dunetd.world.enemies;
+
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * The EnemyModelPool class.
+ * A pool with the models of one kind of enemy, which can be filled before a wave starts, so spawning an enemy only
+ * takes a model out of the pool.
+ *
+ * @author Mattis Bühler
+ */
+public abstract class EnemyModelPool extends Pool<EnemyModel> {
+
+    /**
+     * Creates new models until the pool holds the given number of free models.
+     *
+     * @param count the number of models, which should be free.
+     */
+    public void warmUp(int count) {
+        while (getFree() < count) {
+            free(newObject());
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package io.swapastack.dunetd.world.enemies;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The EnemyStore class.
+ * Holds the values of the enemies, which are read or written every frame, like their position, speed and life points,
+ * in parallel arrays, one slot per enemy. An enemy only knows its store and its slot, so the values of all enemies lie
+ * next to each other in memory instead of being spread over the objects of the enemies. A removed enemy is replaced by
+ * the last one, so the slots stay dense. Removing is deferred until the store is compacted, once a frame, then the
+ * values of the removed enemies are moved into the graveyard of the store, where they stay until the next compaction.
+ * Every enemy also gets a handle of an id, which stays the same while the enemy moves between slots, and the
+ * generation of the id, so a handle of a removed enemy does not find the next enemy with the same id.
+ *
+ * @author Mattis Bühler
+ */
+public class EnemyStore {
+    //Flags of an enemy
+    static final byte HAS_TARGET = 1;
+    static final byte SLOWABLE = 2;
+
+    //Bits of a handle for the id, the remaining bits hold the generation
+    private static final int ID_BITS = 20;
+    private static final int ID_MASK = (1 << ID_BITS) - 1;
+
+    //Number of used slots and the enemy and id of every slot
+    private int size;
+    private GameObjectEnemy[] enemies;
+    private int[] ids;
+
+    //Slot and generation of every id and the ids, which are free again
+    private int idCount;
+    private int[] slots;
+    private int[] generations;
+    private int[] freeIds;
+    private int freeIdCount;
+
+    //Enemies, which are removed when the store is compacted
+    private final ArrayList<GameObjectEnemy> removed = new ArrayList<>();
+
+    //Store with the values of the enemies removed at the last compaction, store with the one cleared slot of all
+    //enemies removed before, and if this store is one of them, which uses no ids
+    private EnemyStore graveyard;
+    private EnemyStore dead;
+    private boolean isGraveyard;
+
+    //Position
+    float[] x;
+    float[] z;
+
+    //Movement, the number of reached points and the next point to reach
+    float[] speed;
+    int[] counter;
+    int[] targetX;
+    int[] targetY;
+    byte[] flags;
+
+    //Life points and the damage of the projectiles flying to the enemy
+    int[] lifePoints;
+    int[] pendingDamage;
+
+    //Point for the steps of the flow field
+    final Point step = new Point();
+
+    /**
+     * The constructor of the EnemyStore class, creates a store without enemies.
+     *
+     * @param capacity the number of enemies, the store holds before it grows, at least 1.
+     */
+    public EnemyStore(int capacity) {
+        capacity = Math.max(capacity, 1);
+        enemies = new GameObjectEnemy[capacity];
+        ids = new int[capacity];
+        slots = new int[capacity];
+        generations = new int[capacity];
+        freeIds = new int[capacity];
+        x = new float[capacity];
+        z = new float[capacity];
+        speed = new float[capacity];
+        counter = new int[capacity];
+        targetX = new int[capacity];
+        targetY = new int[capacity];
+        flags = new byte[capacity];
+        lifePoints = new int[capacity];
+        pendingDamage = new int[capacity];
+    }
+
+    /**
+     * Adds an enemy with cleared values to the next free slot and gives it a free id, the store grows if it is full.
+     *
+     * @param enemy the enemy of the slot.
+     *
+     * @return the slot of the enemy.
+     */
+    int add(GameObjectEnemy enemy) {
+        int slot = append(enemy);
+
+        int id;
+        if (freeIdCount > 0) {
+            id = freeIds[--freeIdCount];
+        } else {
+            if (idCount == slots.length) {
+                slots = Arrays.copyOf(slots, idCount * 2);
+                generations = Arrays.copyOf(generations, idCount * 2);
+                freeIds = Arrays.copyOf(freeIds, idCount * 2);
+            }
+            id = idCount++;
+        }
+        ids[slot] = id;
+        slots[id] = slot;
+        enemy.handle = generations[id] << ID_BITS | id;
+
+        clear(slot);
+        flags[slot] = SLOWABLE;
+        return slot;
+    }
+
+    /**
+     * Clears all values of a slot, so the enemy of the slot stands at the origin without speed, target or life points.
+     *
+     * @param slot the slot to clear.
+     */
+    private void clear(int slot) {
+        x[slot] = 0;
+        z[slot] = 0;
+        speed[slot] = 0;
+        counter[slot] = 0;
+        targetX[slot] = 0;
+        targetY[slot] = 0;
+        flags[slot] = 0;
+        lifePoints[slot] = 0;
+        pendingDamage[slot] = 0;
+    }
+
+    /**
+     * Puts an enemy into the next free slot without giving it an id, the store grows if it is full.
+     *
+     * @param enemy the enemy of the slot.
+     *
+     * @return the slot of the enemy.
+     */
+    private int append(GameObjectEnemy enemy) {
+        if (size == enemies.length) {
+            int capacity = size * 2;
+            enemies = Arrays.copyOf(enemies, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            x = Arrays.copyOf(x, capacity);
+            z = Arrays.copyOf(z, capacity);
+            speed = Arrays.copyOf(speed, capacity);
+            counter = Arrays.copyOf(counter, capacity);
+            targetX = Arrays.copyOf(targetX, capacity);
+            targetY = Arrays.copyOf(targetY, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            lifePoints = Arrays.copyOf(lifePoints, capacity);
+            pendingDamage = Arrays.copyOf(pendingDamage, capacity);
+        }
+        int slot = size++;
+        enemies[slot] = enemy;
+        return slot;
+    }
+
+    /**
+     * Copies all values of a slot of another store into a slot of this store.
+     *
+     * @param from the store to copy from.
+     * @param fromSlot the slot to copy from.
+     * @param slot the slot to copy to.
+     */
+    private void copyValues(EnemyStore from, int fromSlot, int slot) {
+        x[slot] = from.x[fromSlot];
+        z[slot] = from.z[fromSlot];
+        speed[slot] = from.speed[fromSlot];
+        counter[slot] = from.counter[fromSlot];
+        targetX[slot] = from.targetX[fromSlot];
+        targetY[slot] = from.targetY[fromSlot];
+        flags[slot] = from.flags[fromSlot];
+        lifePoints[slot] = from.lifePoints[fromSlot];
+        pendingDamage[slot] = from.pendingDamage[fromSlot];
+    }
+
+    /**
+     * Moves an enemy with all of its values from the store it is in to this store.
+     *
+     * @param enemy the enemy to move.
+     *
+     * @author Mattis Bühler
+     */
+    public void adopt(GameObjectEnemy enemy) {
+        EnemyStore from = enemy.store;
+        if (from == this) {
+            return;
+        }
+        int fromSlot = enemy.slot;
+        int slot = add(enemy);
+        copyValues(from, fromSlot, slot);
+        if (!from.isGraveyard) {
+            from.release(fromSlot);
+        }
+
+        enemy.store = this;
+        enemy.slot = slot;
+    }
+
+    /**
+     * Marks an enemy to be removed, when the store is compacted next. Until then it keeps its slot and its handle.
+     *
+     * @param enemy the enemy to remove.
+     */
+    public void remove(GameObjectEnemy enemy) {
+        if (enemy.store == this) {
+            removed.add(enemy);
+        }
+    }
+
+    /**
+     * Removes all marked enemies, each one is replaced by the last enemy of the store, so the cost only depends on the
+     * number of removed enemies. A removed enemy keeps its values in the graveyard until the next compaction, because
+     * turrets may still look at it in the frame it was destroyed in, and it keeps its handle, which does not find it
+     * anymore, because the generation of its id has moved on. The graveyard is emptied with every compaction, so it
+     * only holds the enemies removed in one frame. Its former residents all share the one cleared slot of the dead
+     * store, so an old reference reads an enemy without life points or target and never the values of another enemy,
+     * which got its slot in the graveyard. The arrays are kept, so after the first waves removing an enemy allocates
+     * nothing.
+     *
+     * @author Mattis Bühler
+     */
+    public void compact() {
+        if (graveyard != null && graveyard.size > 0) {
+            dead.clear(0);
+            for (int i = 0; i<graveyard.size; i++) {
+                GameObjectEnemy enemy = graveyard.enemies[i];
+                if (enemy.store == graveyard) {
+                    enemy.store = dead;
+                    enemy.slot = 0;
+                }
+                graveyard.enemies[i] = null;
+            }
+            graveyard.size = 0;
+        }
+        if (removed.isEmpty()) {
+            return;
+        }
+        if (graveyard == null) {
+            graveyard = new EnemyStore(enemies.length);
+            graveyard.isGraveyard = true;
+            dead = new EnemyStore(1);
+            dead.isGraveyard = true;
+        }
+        for (int i = 0; i<removed.size(); i++) {
+            GameObjectEnemy enemy = removed.get(i);
+            if (enemy.store == this) {
+                int fromSlot = enemy.slot;
+                int slot = graveyard.append(enemy);
+                graveyard.copyValues(this, fromSlot, slot);
+                release(fromSlot);
+                enemy.store = graveyard;
+                enemy.slot = slot;
+            }
+        }
+        removed.clear();
+    }
+
+    /**
+     * Returns the enemy of a handle.
+     *
+     * @param handle the handle of the enemy.
+     *
+     * @return the enemy or null, if the enemy of the handle was removed from the store.
+     */
+    public GameObjectEnemy get(int handle) {
+        int id = handle & ID_MASK;
+        if (id >= idCount || generations[id] != handle >>> ID_BITS) {
+            return null;
+        }
+        return enemies[slots[id]];
+    }
+
+    /**
+     * Frees a slot by moving the values of the last enemy into it. The id of the slot is free again with the next
+     * generation.
+     *
+     * @param slot the slot to free.
+     */
+    private void release(int slot) {
+        int id = ids[slot];
+        generations[id] = (generations[id] + 1) & (-1 >>> ID_BITS);
+        freeIds[freeIdCount++] = id;
+
+        int last = --size;
+        if (slot != last) {
+            GameObjectEnemy moved = enemies[last];
+            enemies[slot] = moved;
+            ids[slot] = ids[last];
+            slots[ids[slot]] = slot;
+            x[slot] = x[last];
+            z[slot] = z[last];
+            speed[slot] = speed[last];
+            counter[slot] = counter[last];
+            targetX[slot] = targetX[last];
+            targetY[slot] = targetY[last];
+            flags[slot] = flags[last];
+            lifePoints[slot] = lifePoints[last];
+            pendingDamage[slot] = pendingDamage[last];
+            moved.slot = slot;
+        }
+        enemies[last] = null;
+    }
+
+    /**
+     * Returns the number of enemies in the store.
+     *
+     * @return the number of enemies.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the enemy of a slot.
+     *
+     * @param slot the slot, smaller than the size of the store.
+     *
+     * @return the enemy.
+     */
+    public GameObjectEnemy getInSlot(int slot) {
+        return enemies[slot];
+    }
+}
@@ -0,0 +1,18 @@
+package io.swapastack.dunetd.world.enemies;
+
+/**
+ * The EnemyVisitor interface.
+ * Is called for every enemy found by a query of the world, so the caller can act on the enemies without collecting
+ * them in a list first. A visitor should be created once and kept, so a query does not allocate anything.
+ *
+ * @author Mattis Bühler
+ */
+public interface EnemyVisitor {
+
+    /**
+     * Is called for an enemy, which was found by a query.
+     *
+     * @param enemy the found enemy.
+     */
+    void visit(GameObjectEnemy enemy);
+}
@@ -1,14 +1,14 @@
 package io.swapastack.dunetd.world.enemies;
 
 import com.badlogic.gdx.math.Vector3;
-import io.swapastack.dunetd.world.field.Field;
+import io.swapastack.dunetd.world.field.FlowField;
+import io.swapastack.dunetd.world.field.GridPathfinder;
 import io.swapastack.dunetd.world.GameWorld;
 import io.swapastack.dunetd.screens.GameScreen;
-import io.swapastack.dunetd.screens.MainMenuScreen;
 import net.mgsx.gltf.scene3d.scene.Scene;
 
 import java.awt.*;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The GameObjectEnemy class.
@@ -23,32 +23,29 @@ public abstract class GameObjectEnemy {
     public GameWorld world;
 
     //Pathfinding
-    public ArrayList<Point> path;
-    private int counter = 0;
-    public Vector3 position;
+    private FlowField flowField;
+    public List<Point> path;
 
-    //Enemy scene
+    //Store and slot, which hold the position, the movement and the life points of the enemy, and its handle there
+    EnemyStore store;
+    int slot;
+    int handle;
+
+    //Bucket of the enemy grid, the enemy is stored in
+    int cell = -1;
+    int cellSlot;
+
+    //Enemy scene, the model it belongs to and the pool of the model
     public float rotation;
     public Scene enemyScene;
     public Vector3 scaling;
-
-    //Start- and endpoint
-    private Point startPoint;
-    private Point endPoint;
-
-    //Enemy speed
-    public float speed;
+    private EnemyModel model;
+    private EnemyModelPool modelPool;
 
     //Enemyhitbox radius
     public float radius;
 
-    //Soundturret values
-    public float slowedSpeed;
-    public float slowPercentage = 0.01f * MainMenuScreen.slowPercentage.get();
-    public boolean isSlowed;
-
     //Player stats values
-    public int lifePoints;
     public int damageToPlayer;
     public int scoreValue;
     public int spiceValue;
@@ -56,38 +53,52 @@ public abstract class GameObjectEnemy {
     /**
      * Constructor of the GameObjectEnemy.
      *
+     * The enemy follows the flow field of the world, which leads to the endportal. Its values are kept in the enemy
+     * store of the world.
+     *
      * @param startPoint the position, the enemy will start from.
-     * @param endPoint the position, the enemy will run to.
      * @param world the world in which the enemy exists.
      * @param screen the screen in which the enemy exists.
      */
-    public GameObjectEnemy(Point startPoint, Point endPoint,GameWorld world, GameScreen screen) {
-        this.startPoint = startPoint;
-        this.endPoint = endPoint;
+    public GameObjectEnemy(Point startPoint, GameWorld world, GameScreen screen) {
         this.screen = screen;
         this.world = world;
-        position = new Vector3(startPoint.x, screen.groundTileDimensions.y, startPoint.y);
+        store = world.getEnemyStore();
+        slot = store.add(this);
+        store.x[slot] = startPoint.x;
+        store.z[slot] = startPoint.y;
+
+        flowField = world.getFlowField();
+        store.targetX[slot] = startPoint.x;
+        store.targetY[slot] = startPoint.y;
+        setFlag(EnemyStore.HAS_TARGET,
+                flowField.getDistance(startPoint.x, startPoint.y) != GridPathfinder.UNREACHED);
     }
 
 
     /**
-     * Constructor for testing purposes.
+     * Constructor for testing purposes. The values of the enemy are kept in a store of its own, until it is added to
+     * a world.
      *
      * @param position the position of the enemy in the world.
      */
     public GameObjectEnemy(Vector3 position) {
-        this.position = position;
+        store = new EnemyStore(1);
+        slot = store.add(this);
+        store.x[slot] = position.x;
+        store.z[slot] = position.z;
     }
 
     /**
      * Constructor for testing purposes.
      *
      * @param position the position of the enemy in the world.
-     * @param path the path, the enemy has to walk, to reach the endportal.
+     * @param path the path, the enemy has to walk, to reach the endportal, for example a shared packed path.
      */
-    public GameObjectEnemy(Vector3 position, ArrayList<Point> path) {
-        this.position = position;
+    public GameObjectEnemy(Vector3 position, List<Point> path) {
+        this(position);
         this.path = path;
+        setFlag(EnemyStore.HAS_TARGET, nextTarget());
     }
 
     /**
@@ -98,77 +109,173 @@ public abstract class GameObjectEnemy {
      * @author Mattis Bühler
      */
     public void update(float delta) {
-        if (lifePoints <= 0) {
+        if (getLifePoints() <= 0) {
             destroyMe = true;
             screen.removingScene(enemyScene);
             addScore();
             addSpice();
         }
 
-        if (isSlowed) {
-            move(slowedSpeed);
-        } else {
-            move(speed);
-        }
+        move(getSpeed());
     }
 
     /**
-     * Moves the enemy, point after point through the path, which the findWay method in the field class has calculated,
-     * if the enemy reaches the end, the enemy will be removed from the world.
+     * Moves the enemy, tile after tile through the flow field of the world, or through its path if it has no flow field,
+     * if the enemy reaches the end, the enemy will be removed from the world. The speed is multiplied with the slow
+     * field of the world on the tile of the enemy.
      *
      * @param speed the speed with which the enemy will move through the world.
      *
      * @author Mattis Bühler
      */
     public void move(float speed) {
+        EnemyStore store = this.store;
+        int slot = this.slot;
 
-        if (counter == path.size()) {
+        if (!hasFlag(EnemyStore.HAS_TARGET)) {
             destroyMe = true;
             damagePlayer();
             screen.removingScene(enemyScene);
 
         } else {
 
+            if (world != null && hasFlag(EnemyStore.SLOWABLE)) {
+                speed *= world.getSlowField().getFactor(store.x[slot], store.z[slot]);
+            }
+            int targetX = store.targetX[slot];
+            int targetY = store.targetY[slot];
+
             //moves the Enemy to the right
-            if (position.x <= path.get(counter).x - 0.005f) {
-                position.x += speed;
+            if (store.x[slot] <= targetX - 0.005f) {
+                store.x[slot] += speed;
                 rotation = 90f;
             }
 
             //moves the Enemy to the left
-            if (position.x >= path.get(counter).x + 0.005f) {
-                position.x -= speed;
+            if (store.x[slot] >= targetX + 0.005f) {
+                store.x[slot] -= speed;
                 rotation = 270f;
             }
 
             //moves the Enemy up
-            if (position.z <= path.get(counter).y - 0.005f) {
-                position.z += speed;
+            if (store.z[slot] <= targetY - 0.005f) {
+                store.z[slot] += speed;
                 rotation = 0f;
             }
 
             //moves the Enemy down
-            if (position.z >= path.get(counter).y + 0.005f) {
-                position.z -= speed;
+            if (store.z[slot] >= targetY + 0.005f) {
+                store.z[slot] -= speed;
                 rotation = 180f;
             }
 
             //if one point of the path is reached, set the next point to be reached
-            if ((position.x < (path.get(counter).x + 0.005f) && position.x > (path.get(counter).x - 0.005f))
-                    && (position.z < (path.get(counter).y + 0.005f) && position.z > (path.get(counter).y - 0.005f))) {
+            if ((store.x[slot] < (targetX + 0.005f) && store.x[slot] > (targetX - 0.005f))
+                    && (store.z[slot] < (targetY + 0.005f) && store.z[slot] > (targetY - 0.005f))) {
+
+                store.counter[slot]++;
+                setFlag(EnemyStore.HAS_TARGET, nextTarget());
+            }
 
-                counter++;
+            if (world != null) {
+                world.getEnemyGrid().update(this);
             }
         }
     }
 
     /**
-     * Sets the path to the current fastest path to the fastest path on given field.
+     * Sets the target to the next tile, which is the next step of the flow field or the next point of the path.
+     *
+     * @return false if there is no next tile, because the end is reached.
+     */
+    private boolean nextTarget() {
+        if (flowField != null) {
+            Point step = store.step;
+            step.setLocation(store.targetX[slot], store.targetY[slot]);
+            if (!flowField.nextStep(step)) {
+                return false;
+            }
+            store.targetX[slot] = step.x;
+            store.targetY[slot] = step.y;
+            return true;
+        }
+        if (store.counter[slot] < path.size()) {
+            Point point = path.get(store.counter[slot]);
+            store.targetX[slot] = point.x;
+            store.targetY[slot] = point.y;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Takes a model out of a pool of the world, its scene becomes the scene of the enemy.
+     *
+     * @param pool the pool with the models of the kind of the enemy.
+     *
+     * @return the model of the enemy.
+     */
+    protected EnemyModel obtainModel(EnemyModelPool pool) {
+        model = pool.obtain();
+        modelPool = pool;
+        enemyScene = model.scene;
+        return model;
+    }
+
+    /**
+     * Gives the model of the enemy back to its pool, after the enemy died or reached the endportal and its scene was
+     * removed from the screen.
+     */
+    public void freeModel() {
+        if (modelPool != null) {
+            modelPool.free(model);
+            model = null;
+            modelPool = null;
+        }
+    }
+
+    /**
+     * Checks a flag of the enemy in its store.
+     *
+     * @param flag the flag.
+     *
+     * @return if the flag is set.
+     */
+    private boolean hasFlag(byte flag) {
+        return (store.flags[slot] & flag) != 0;
+    }
+
+    /**
+     * Sets or clears a flag of the enemy in its store.
+     *
+     * @param flag the flag.
+     * @param value if the flag is set.
+     */
+    private void setFlag(byte flag, boolean value) {
+        if (value) {
+            store.flags[slot] |= flag;
+        } else {
+            store.flags[slot] &= ~flag;
+        }
+    }
+
+    /**
+     * Checks if the projectiles flying to the enemy will kill it, so no turret has to shoot at it again.
+     *
+     * @return if there is pending damage, which uses up the life points of the enemy.
+     */
+    public boolean isDoomed() {
+        int pendingDamage = store.pendingDamage[slot];
+        return pendingDamage > 0 && store.lifePoints[slot] - pendingDamage <= 0;
+    }
+
+    /**
+     * Returns the handle of the enemy in the store it is kept in, which finds the enemy until it is removed.
      *
-     * @param field the field on which the fastest path is calculated.
+     * @return the handle of the enemy.
      */
-    public void setPath(Field field) {
-        path = field.findWay(startPoint, endPoint);
+    public int getHandle() {
+        return handle;
     }
 
     /**
@@ -177,7 +284,7 @@ public abstract class GameObjectEnemy {
      * @return the x-coordinate of the enemy.
      */
     public float getX() {
-        return position.x;
+        return store.x[slot];
     }
 
     /**
@@ -186,7 +293,90 @@ public abstract class GameObjectEnemy {
      * @return the z-coordinate of the enemy.
      */
     public float getZ() {
-        return position.z;
+        return store.z[slot];
+    }
+
+    /**
+     * Sets the position of the enemy, for example for testing. The enemy grid has to be updated afterwards.
+     *
+     * @param xPos the new x-coordinate of the enemy.
+     * @param zPos the new z-coordinate of the enemy.
+     */
+    public void setPosition(float xPos, float zPos) {
+        store.x[slot] = xPos;
+        store.z[slot] = zPos;
+    }
+
+    /**
+     * Returns the speed of the enemy without the slow field.
+     *
+     * @return the speed of the enemy.
+     */
+    public float getSpeed() {
+        return store.speed[slot];
+    }
+
+    /**
+     * Sets the speed of the enemy without the slow field.
+     *
+     * @param speed the new speed.
+     */
+    public void setSpeed(float speed) {
+        store.speed[slot] = speed;
+    }
+
+    /**
+     * Sets if the auras of the slow field of the world slow the enemy down, which they do by default.
+     *
+     * @param slowable if the enemy can be slowed down.
+     */
+    public void setSlowable(boolean slowable) {
+        setFlag(EnemyStore.SLOWABLE, slowable);
+    }
+
+    /**
+     * Returns the life points of the enemy.
+     *
+     * @return the life points.
+     */
+    public int getLifePoints() {
+        return store.lifePoints[slot];
+    }
+
+    /**
+     * Sets the life points of the enemy.
+     *
+     * @param lifePoints the new life points.
+     */
+    public void setLifePoints(int lifePoints) {
+        store.lifePoints[slot] = lifePoints;
+    }
+
+    /**
+     * Reduces the life points of the enemy.
+     *
+     * @param damage the damage the enemy takes.
+     */
+    public void takeDamage(int damage) {
+        store.lifePoints[slot] -= damage;
+    }
+
+    /**
+     * Returns the damage of the projectiles flying to the enemy.
+     *
+     * @return the pending damage.
+     */
+    public int getPendingDamage() {
+        return store.pendingDamage[slot];
+    }
+
+    /**
+     * Adds the damage of a projectile flying to the enemy, a negative damage removes it again.
+     *
+     * @param damage the damage of the projectile.
+     */
+    public void addPendingDamage(int damage) {
+        store.pendingDamage[slot] += damage;
     }
 
     /**
@@ -204,7 +394,7 @@ public abstract class GameObjectEnemy {
      * @return the counter of the enemy.
      */
     public int getCounter() {
-        return counter;
+        return store.counter[slot];
     }
 
     /**
@@ -215,12 +405,22 @@ public abstract class GameObjectEnemy {
      * @author Mattis Bühler
      */
     public float getDistanceToPoint() {
-        if (counter != path.size()) {
-            return Math.abs(position.x - path.get(counter).x) + Math.abs(position.z - path.get(counter).y);
+        if (hasFlag(EnemyStore.HAS_TARGET)) {
+            return Math.abs(store.x[slot] - store.targetX[slot]) + Math.abs(store.z[slot] - store.targetY[slot]);
         }
         return 0.1f;
     }
 
+    /**
+     * Returns how far the enemy has come on its way, the number of reached points minus the distance to the next
+     * point. It grows steadily while the enemy moves, also when the next point is reached.
+     *
+     * @return the progress of the enemy.
+     */
+    public float getProgress() {
+        return store.counter[slot] - getDistanceToPoint();
+    }
+
     /**
      * Reduce the player life in the world.
      */
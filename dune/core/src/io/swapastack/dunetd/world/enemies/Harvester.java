@@ -22,36 +22,44 @@ public class Harvester extends GameObjectEnemy {
      * Calls the create method.
      *
      * @param startPoint the position, the Harvester will start from.
-     * @param endPoint the position, the Harvester will run to.
      * @param world the world in which the Harvester exists.
      * @param screen the screen in which the Harvester exists.
      */
-    public Harvester(Point startPoint, Point endPoint, GameWorld world, GameScreen screen) {
-        super(startPoint, endPoint, world, screen);
+    public Harvester(Point startPoint, GameWorld world, GameScreen screen) {
+        super(startPoint, world, screen);
         create();
     }
 
     /**
-     * The create method which sets the values of the object, creates the harvester scene
+     * Creates a model with a new harvester scene, which is not animated.
+     *
+     * @param screen the screen with the scene assets.
+     *
+     * @return the new model.
+     */
+    public static EnemyModel createModel(GameScreen screen) {
+        return new EnemyModel(new Scene(screen.sceneAssetHashMap.get("enemy_ufoPurple.glb").scene), null);
+    }
+
+    /**
+     * The create method which sets the values of the object, takes the harvester scene out of the pool of the world.
      */
     public void create() {
-        speed = 0.0001f * MainMenuScreen.harvesterSpeed.get();
-        slowedSpeed = speed;
-        lifePoints = MainMenuScreen.harvesterLife.get();
+        setSpeed(0.0001f * MainMenuScreen.harvesterSpeed.get());
+        setSlowable(false);
+        setLifePoints(MainMenuScreen.harvesterLife.get());
         damageToPlayer = MainMenuScreen.harvesterDamage.get();
         scoreValue = MainMenuScreen.harvesterScore.get();
         spiceValue = MainMenuScreen.harvesterSpice.get();
 
         scaling = new Vector3(0.7f, 0.8f, 0.7f);
 
-        enemyScene = new Scene(screen.sceneAssetHashMap.get("enemy_ufoPurple.glb").scene);
+        obtainModel(world.getHarvesterModels());
         enemyScene.modelInstance.transform.setToTranslation(getX(), screen.groundTileDimensions.y+0.5f, getZ()).scale(scaling.x, scaling.y, scaling.z);
         screen.addingScene(enemyScene);
 
         radius = 0.3f;
 
-        setPath(world.getField());
-
     }
 
     /**
@@ -65,9 +73,7 @@ public class Harvester extends GameObjectEnemy {
     public void update(float delta) {
         super.update(delta);
 
-        isSlowed = false;
-
         enemyScene.modelInstance.transform.setToTranslation(getX(), screen.groundTileDimensions.y+0.5f, getZ()).scale(scaling.x, scaling.y, scaling.z)
-                .rotate(new Vector3(0.0f, 1.0f, 0.0f), getRotation());
+                .rotate(Vector3.Y, getRotation());
     }
 }
\ No newline at end of file
@@ -26,41 +26,44 @@ public class Infantry extends GameObjectEnemy {
      * Calls the create method.
      *
      * @param startPoint the position, the Infantry will start from.
-     * @param endPoint the position, the Infantry will run to.
      * @param world the world in which the Infantry exists.
      * @param screen the screen in which the Infantry exists.
      */
-    public Infantry(Point startPoint, Point endPoint, GameWorld world, GameScreen screen) {
-        super(startPoint, endPoint, world, screen);
+    public Infantry(Point startPoint, GameWorld world, GameScreen screen) {
+        super(startPoint, world, screen);
         create();
     }
 
 
     /**
-     * The create method which sets the values of the object, creates the infantry scene and the animationController.
+     * Creates a model with a new infantry scene and its animationController.
+     *
+     * @param screen the screen with the scene assets.
+     *
+     * @return the new model.
+     */
+    public static EnemyModel createModel(GameScreen screen) {
+        return new EnemyModel(new Scene(screen.sceneAssetHashMap.get("cute_cyborg/scene.gltf").scene), "RUN");
+    }
+
+    /**
+     * The create method which sets the values of the object, takes the infantry scene and the animationController
+     * out of the pool of the world.
      */
     public void create() {
-        speed = 0.0001f * MainMenuScreen.infantrySpeed.get();
-        slowedSpeed = speed*(1-slowPercentage);
-        lifePoints = MainMenuScreen.infantryLife.get();
+        setSpeed(0.0001f * MainMenuScreen.infantrySpeed.get());
+        setLifePoints(MainMenuScreen.infantryLife.get());
         damageToPlayer = MainMenuScreen.infantryDamage.get();
         scoreValue = MainMenuScreen.infantryScore.get();
         spiceValue = MainMenuScreen.infantrySpice.get();
 
         scaling = new Vector3(0.028f, 0.070f, 0.028f);
 
-        enemyScene = new Scene(screen.sceneAssetHashMap.get("cute_cyborg/scene.gltf").scene);
+        acInfantry = obtainModel(world.getInfantryModels()).controller;
         enemyScene.modelInstance.transform.setToTranslation(getX(), screen.groundTileDimensions.y, getZ()).scl(scaling);
         screen.addingScene(enemyScene);
 
         radius = 0.3f;
-
-
-        acInfantry = new AnimationController(enemyScene.modelInstance);
-        acInfantry.setAnimation("RUN", -1);
-
-        setPath(world.getField());
-
     }
 
     /**
@@ -74,12 +77,10 @@ public class Infantry extends GameObjectEnemy {
     public void update(float delta) {
         super.update(delta);
 
-        isSlowed = false;
-
         invertRotation();
 
         enemyScene.modelInstance.transform.setToTranslation(getX(), screen.groundTileDimensions.y, getZ()).scl(scaling)
-                .rotate(new Vector3(0.0f, 1.0f, 0.0f), getRotation());
+                .rotate(Vector3.Y, getRotation());
 
         acInfantry.update(delta);
     }
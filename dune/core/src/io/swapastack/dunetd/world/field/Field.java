@@ -1,7 +1,6 @@
 package io.swapastack.dunetd.world.field;
 
 import java.awt.*;
-import java.util.ArrayList;
 
 /**
  * The Field class.
@@ -9,13 +8,39 @@ import java.util.ArrayList;
  * @author Mattis Bühler
  */
 public class Field {
-    //Manned state
-    public boolean [][] mannedTiles;
+    //Manned state, is changed with setManned and setUnmanned
+    private Occupancy occupancy;
 
     //Field dimension
     private final int rows;
     private final int cols;
 
+    //Pathfinding
+    private GridPathfinder pathfinder;
+    private PlacementAnalysis placementAnalysis;
+
+    //Layout generation, is increased with every change of the manned tiles
+    private int generation;
+
+    //Path of the last findWay query and its start and end tile, kept until the generation or the tiles change
+    private PackedPath way = PackedPath.EMPTY;
+    private int wayStart = -1;
+    private int wayEnd = -1;
+    private int wayGeneration;
+
+    //Queries answered by the last paths and queries, which had to be searched
+    private int pathCacheHits;
+    private int pathCacheMisses;
+
+    //Paths of the last findWays query and its points, kept until the generation or the points change
+    private PackedPath[] ways = new PackedPath[0];
+    private int[] wayStarts = new int[0];
+    private int[] wayEnds = new int[0];
+    private int waysGeneration;
+
+    //Tiles of a path before it is packed
+    private int[] pathTiles;
+
     /**
      * The constructor of the Field class, sets the dimension of the field. Also calls the create method.
      *
@@ -29,155 +54,285 @@ public class Field {
     }
 
     /**
-     * The create method initializes the manned tiles array.
+     * The create method initializes the occupancy and the buffers of the pathfinder.
      */
     public void create() {
-        mannedTiles = new boolean[cols][rows];
+        occupancy = new Occupancy(rows, cols);
+        pathfinder = new GridPathfinder(occupancy, rows, cols);
+        pathTiles = new int[rows * cols];
+        placementAnalysis = null;
+        generation++;
     }
 
     /**
-     * The method finds the fastest path on the playing field via dijkstra algorithm, please refer https://en.wikipedia.org/wiki/Dijkstra%27s_algorithm.
-     * Uses the Node class for calculations and returns the arraylist with the getPath method.
-     *
-     * @param startPoint the position, where the pathfinding starts.
-     * @param endPoint the position, where the pathfinding ends.
+     * Sets a tile on the field to the state manned and repairs the paths which led over this tile.
      *
-     * @return a list of points if there is a possible path or an empty list if there is non.
-     *
-     * @author Mattis Bühler
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
      */
-    public ArrayList<Point> findWay(Point startPoint, Point endPoint) {
-
-        ArrayList<Node> remainingNodes = new ArrayList<>();
-        Node node;
-        Node startNode = null;
-        Node endNode = null;
-
-        //creating all possible nodes with point values and manned boolean
-        for (int i = 0; i<rows; i++) {
-            for (int k = 0; k<cols; k++) {
-                //mark end- and start-node
-                if (k == startPoint.x && i == startPoint.y) {
-                    startNode = new Node(0, new Point(k,i));
-                    remainingNodes.add(startNode);
-                } else if (k == endPoint.x && i == endPoint.y) {
-                    endNode = new Node(10000, new Point(k,i));
-                    remainingNodes.add(endNode);
-                } else {
-                    //set high value, which is higher than the highest possible distance
-                    node = new Node(10000, new Point(k,i));
-                    remainingNodes.add(node);
-
-                    //check if manned
-                    if (mannedTiles[k][i]) {
-                        node.isManned = true;
-                    }
-                }
-            }
+    public void setManned(int xCoord, int yCoord) {
+        if (occupancy.set(xCoord, yCoord, true)) {
+            tileChanged(xCoord, yCoord);
         }
+    }
 
-        //add possible neighbors to nodes
-        for (int i = 0; i<remainingNodes.size(); i++) {
-            node = remainingNodes.get(i);
+    /**
+     * Sets a tile on the field to the state unmanned and repairs the paths which can be shortened over this tile.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     */
+    public void setUnmanned(int xCoord, int yCoord) {
+        if (occupancy.set(xCoord, yCoord, false)) {
+            tileChanged(xCoord, yCoord);
+        }
+    }
 
-            //top neighbor
-            if (!(i < cols)) {
-                if ((!remainingNodes.get(i-cols).isManned)) {
-                    node.addNeighbor(remainingNodes.get(i-cols));
-                }
-            }
+    /**
+     * Sets the cost to enter a tile, for example to make enemies avoid sand or the surroundings of turrets. As long as
+     * every tile costs 1, the paths are searched with the breadth first search, otherwise with the dijkstra algorithm.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     * @param cost the cost of the tile, at least 1.
+     */
+    public void setTileCost(int xCoord, int yCoord, int cost) {
+        if (pathfinder.getCost(yCoord * cols + xCoord) != cost) {
+            pathfinder.setCost(yCoord * cols + xCoord, cost);
+            generation++;
+        }
+    }
 
-            //bottom neighbor
-            if (!(i >= (cols*(rows-1)))) {
-                if (!remainingNodes.get(i+cols).isManned) {
-                    node.addNeighbor(remainingNodes.get(i+cols));
-                }
-            }
+    /**
+     * Returns the cost to enter a tile.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return the cost of the tile.
+     */
+    public int getTileCost(int xCoord, int yCoord) {
+        return pathfinder.getCost(yCoord * cols + xCoord);
+    }
 
-            //right neighbor
-            if (!((i % cols) == (cols-1))){
-                if (!remainingNodes.get(i+1).isManned) {
-                    node.addNeighbor(remainingNodes.get(i+1));
-                }
-            }
+    /**
+     * Checks if a tile on the field is manned.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return if the tile is manned.
+     */
+    public boolean isManned(int xCoord, int yCoord) {
+        return occupancy.isManned(xCoord, yCoord);
+    }
 
+    /**
+     * Returns a copy of the manned state of all tiles, which is not changed with the field.
+     *
+     * @return the snapshot of the occupancy.
+     */
+    public Occupancy getSnapshot() {
+        return occupancy.copy();
+    }
 
-            //left neighbor
-            if (!((i % cols) == 0)) {
-                if (!remainingNodes.get(i-1).isManned) {
-                    node.addNeighbor(remainingNodes.get(i-1));
-                }
-            }
+    /**
+     * Sets the manned state of all tiles to the given snapshot. The pathfinding is searched again from scratch.
+     *
+     * @param snapshot the occupancy of a field with the same dimension.
+     */
+    public void restore(Occupancy snapshot) {
+        occupancy.copyFrom(snapshot);
+        generation++;
+        pathfinder.reset();
+        if (placementAnalysis != null) {
+            placementAnalysis.invalidate();
         }
+    }
 
-        int min;
-        int distance;
-        Node firstNode;
-        int alt;
-
-        while (remainingNodes.size() != 0) {
-            //get Node with the lowest distance by iterating through the remaining Nodes
-            min = remainingNodes.get(0).distance;
-            firstNode = remainingNodes.get(0);
-            for (int i = 1; i < remainingNodes.size(); i++) {
-                distance = remainingNodes.get(i).distance;
-                if (distance < min) {
-                    min = distance;
-                    firstNode = remainingNodes.get(i);
-                }
-            }
+    /**
+     * Starts a new layout generation, repairs the pathfinding and marks the placement analysis as outdated after a
+     * tile has changed.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     */
+    private void tileChanged(int xCoord, int yCoord) {
+        generation++;
+        pathfinder.tileChanged(yCoord * cols + xCoord);
+        if (placementAnalysis != null) {
+            placementAnalysis.invalidate();
+        }
+    }
 
-            //remove the lowest distance node from remaining nodes
-            remainingNodes.remove(firstNode);
+    /**
+     * Returns a flow field, which leads every tile of the field to the closest of the given end points. The flow field
+     * is repaired together with the field, when tiles are set manned or unmanned.
+     *
+     * @param endPoints the positions, the flow field leads to.
+     *
+     * @return the flow field towards the end points.
+     */
+    public FlowField getFlowField(Point... endPoints) {
+        return new FlowField(pathfinder, cols, endPoints);
+    }
 
-            //end while loop if node with the lowest distance is the end-node
-            assert endNode != null;
-            if (firstNode.getPoint().x == endNode.getPoint().x && firstNode.getPoint().y == endNode.getPoint().y) {
-                endNode = firstNode;
-                break;
-            }
+    /**
+     * Returns the placement analysis between the given portals, which tells which tiles can be manned without
+     * disconnecting the portals. The analysis is refreshed once after tiles are set manned or unmanned.
+     *
+     * @param startPoint the position of the startportal.
+     * @param endPoint the position of the endportal.
+     *
+     * @return the placement analysis between the portals.
+     */
+    public PlacementAnalysis getPlacementAnalysis(Point startPoint, Point endPoint) {
+        return getPlacementAnalysis(new Point[] {startPoint}, new Point[] {endPoint});
+    }
 
-            //check all neighbors for lower distance and replace values
-            for (Node neighbor : firstNode.getNeighbors()) {
-                alt = firstNode.distance + 1;
-                if (alt < neighbor.distance) {
-                    neighbor.distance = alt;
-                    neighbor.setPrev(firstNode);
-                }
-            }
+    /**
+     * Returns the placement analysis between the given portals, which tells which tiles can be manned without leaving
+     * a startportal without a way to an endportal. The analysis is refreshed once after tiles are set manned or
+     * unmanned.
+     *
+     * @param startPoints the positions of the startportals.
+     * @param endPoints the positions of the endportals.
+     *
+     * @return the placement analysis between the portals.
+     */
+    public PlacementAnalysis getPlacementAnalysis(Point[] startPoints, Point[] endPoints) {
+        if (placementAnalysis == null || !placementAnalysis.hasPortals(startPoints, endPoints)) {
+            placementAnalysis = new PlacementAnalysis(occupancy, rows, cols, startPoints, endPoints);
+        }
+        return placementAnalysis;
+    }
 
+    /**
+     * The method finds the fastest path on the playing field via breadth first search, please refer
+     * https://en.wikipedia.org/wiki/Breadth-first_search. All steps cost the same, so the result is the same as with
+     * the dijkstra algorithm. If tile costs are set, the cheapest path is found with the dijkstra algorithm instead.
+     * The last found path is kept until the manned tiles or tile costs change, so asking again for the same way within
+     * one layout generation returns the same packed path without searching. Only the last query is kept, asking for
+     * another way searches again.
+     *
+     * @param startPoint the position, where the pathfinding starts.
+     * @param endPoint the position, where the pathfinding ends.
+     *
+     * @return an unmodifiable path if there is a possible path or an empty path if there is non.
+     */
+    public PackedPath findWay(Point startPoint, Point endPoint) {
+        int startIndex = startPoint.y * cols + startPoint.x;
+        int endIndex = endPoint.y * cols + endPoint.x;
+        if (wayGeneration == generation && wayStart == startIndex && wayEnd == endIndex) {
+            pathCacheHits++;
+            return way;
         }
 
-        //get list of points from start- to end-node
-        ArrayList<Point> path = new ArrayList<>();
-        assert endNode != null;
-        if (endNode.distance < 9999) {
-            path = getPath(startNode, endNode, path);
+        pathCacheMisses++;
+        way = searchWay(startPoint, endPoint);
+        wayStart = startIndex;
+        wayEnd = endIndex;
+        wayGeneration = generation;
+        return way;
+    }
+
+    /**
+     * Finds the fastest path from every start point to its closest end point. All end points are searched together in
+     * one pass, so adding start or end points does not add searches. The search is shared with the flow field towards
+     * the same end points. The paths are kept until the manned tiles or tile costs change, so asking again for the
+     * same points within one layout generation returns the same array without searching or allocating.
+     *
+     * @param startPoints the positions, where the paths start.
+     * @param endPoints the positions, where the paths may end.
+     *
+     * @return one packed path for every start point, or an empty path if it can not reach any end point. The array is
+     * shared and must not be changed.
+     *
+     * @author Mattis Bühler
+     */
+    public PackedPath[] findWays(Point[] startPoints, Point[] endPoints) {
+        if (waysGeneration == generation && GridPathfinder.isOnTiles(wayStarts, startPoints, cols)
+                && GridPathfinder.isOnTiles(wayEnds, endPoints, cols)) {
+            pathCacheHits++;
+            return ways;
         }
+        pathCacheMisses++;
+        waysGeneration = generation;
+        wayStarts = GridPathfinder.toIndices(startPoints, cols, wayStarts);
+        wayEnds = GridPathfinder.toIndices(endPoints, cols, wayEnds);
+        if (ways.length != startPoints.length) {
+            ways = new PackedPath[startPoints.length];
+        }
+        pathfinder.setRoots(wayEnds);
 
-        return path;
+        for (int i = 0; i < wayStarts.length; i++) {
+            int startIndex = wayStarts[i];
+            if (pathfinder.getDistance(startIndex) == GridPathfinder.UNREACHED) {
+                ways[i] = PackedPath.EMPTY;
+                continue;
+            }
+            int length = 0;
+            for (int tile = startIndex; tile != -1; tile = pathfinder.getNextTile(tile)) {
+                pathTiles[length++] = tile;
+            }
+            ways[i] = new PackedPath(pathTiles, length, cols);
+        }
+        return ways;
     }
 
     /**
-     * A recursive method, which returns a list of points from the start to the end node.
+     * Searches the fastest path between two points.
+     * The GridPathfinder of the field keeps its search towards the end point between calls, so as long as the end point
+     * stays the same, only the changes of the manned tiles are searched again. The points are collected by following
+     * the next tiles from the start point into a reused buffer, which is packed afterwards.
      *
-     * @param startNode the node, the list starts from.
-     * @param lastNode the node, list ends with.
-     * @param path an empty Arraylist which is filled recursively.
+     * @param startPoint the position, where the pathfinding starts.
+     * @param endPoint the position, where the pathfinding ends.
      *
-     * @return the arraylist of points to get to the endpoint.
+     * @return the packed path or an empty path if there is non.
      *
      * @author Mattis Bühler
      */
-    private ArrayList<Point> getPath(Node startNode, Node lastNode, ArrayList<Point> path) {
-        if (lastNode == startNode) {
-            path.add(lastNode.getPoint());
-            return path;
+    private PackedPath searchWay(Point startPoint, Point endPoint) {
+        int startIndex = startPoint.y * cols + startPoint.x;
+
+        pathfinder.setRoot(endPoint.y * cols + endPoint.x);
+
+        if (pathfinder.getDistance(startIndex) == GridPathfinder.UNREACHED) {
+            return PackedPath.EMPTY;
         }
-        path = getPath(startNode, lastNode.getPrev(), path);
-        path.add(lastNode.getPoint());
-        return path;
+        int length = 0;
+        for (int tile = startIndex; tile != -1; tile = pathfinder.getNextTile(tile)) {
+            pathTiles[length++] = tile;
+        }
+        return new PackedPath(pathTiles, length, cols);
+    }
+
+    /**
+     * Returns the layout generation of the field, which is increased every time a tile is set manned or unmanned.
+     *
+     * @return the current generation.
+     */
+    public int getGeneration() {
+        return generation;
     }
-}
 
+    /**
+     * Returns how many path queries of findWay and findWays were answered by the path of the same query before.
+     *
+     * @return the number of cache hits.
+     */
+    public int getPathCacheHits() {
+        return pathCacheHits;
+    }
 
+    /**
+     * Returns how many path queries of findWay and findWays had to be searched, because the query before asked for
+     * other points or the layout generation has changed.
+     *
+     * @return the number of cache misses.
+     */
+    public int getPathCacheMisses() {
+        return pathCacheMisses;
+    }
+}
@@ -0,0 +1,63 @@
+package io.swapastack.dunetd.world.field;
+
+import java.awt.*;
+
+/**
+ * The FlowField class.
+ * A view on the shortest path tree of a field towards one or more end points. Every tile knows its next tile on the way
+ * to its closest end point, so enemies can read their next step directly instead of holding their own path.
+ * The flow field shares the search of its field, so it follows every change of the manned tiles immediately.
+ *
+ * @author Mattis Bühler
+ */
+public class FlowField {
+    //Search of the field
+    private final GridPathfinder pathfinder;
+    private final int cols;
+
+    //End positions
+    private final int[] endIndices;
+
+    /**
+     * The constructor of the FlowField class. Is called by the field, the flow field belongs to.
+     *
+     * @param pathfinder the pathfinder of the field.
+     * @param cols the cols of the field.
+     * @param endPoints the positions, the steps lead to.
+     */
+    FlowField(GridPathfinder pathfinder, int cols, Point[] endPoints) {
+        this.pathfinder = pathfinder;
+        this.cols = cols;
+        endIndices = GridPathfinder.toIndices(endPoints, cols);
+    }
+
+    /**
+     * Moves the given tile one step further on the fastest way to the closest end point.
+     *
+     * @param tile the position of the tile, it is set to the next tile.
+     *
+     * @return false if the tile is an end point or if there is no way to an end point.
+     */
+    public boolean nextStep(Point tile) {
+        pathfinder.setRoots(endIndices);
+        int next = pathfinder.getNextTile(tile.y * cols + tile.x);
+        if (next == -1) {
+            return false;
+        }
+        tile.setLocation(next % cols, next / cols);
+        return true;
+    }
+
+    /**
+     * Returns the number of steps from the given tile to the closest end point.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return the number of steps or GridPathfinder.UNREACHED if there is no way to an end point.
+     */
+    public int getDistance(int xCoord, int yCoord) {
+        pathfinder.setRoots(endIndices);
+        return pathfinder.getDistance(yCoord * cols + xCoord);
+    }
+}
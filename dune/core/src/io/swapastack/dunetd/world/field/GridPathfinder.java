@@ -0,0 +1,649 @@
+package io.swapastack.dunetd.world.field;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * The GridPathfinder class.
+ * Keeps a shortest path tree of all tiles of a field towards one or more end tiles, the roots. With several roots
+ * every tile leads to its closest root, all roots are searched together in one pass, like one root behind all of them.
+ * Every step between two tiles
+ * costs 1, so the tree is built with a breadth first search and holds the same path lengths as the dijkstra algorithm.
+ * The tree is kept between queries. If a single tile changes its manned state, only the part of the tree which
+ * depends on that tile is repaired, please refer https://en.wikipedia.org/wiki/Lifelong_Planning_A*.
+ * Tiles are addressed by their index (y * cols + x), all buffers are flat arrays which are reused between searches.
+ * Optionally every tile has an integer cost, which has to be paid to enter it. As soon as a tile costs more than 1,
+ * the tree is built with the dijkstra algorithm on a bucket queue instead, please refer
+ * https://en.wikipedia.org/wiki/Dijkstra%27s_algorithm#Specialized_variants. Weighted trees are not repaired but built
+ * again with the next query after a change.
+ *
+ * @author Mattis Bühler
+ */
+public class GridPathfinder {
+    //Distance of a tile which is not reached by the search
+    public static final int UNREACHED = Integer.MAX_VALUE;
+
+    //Field dimension and manned state
+    private final int rows;
+    private final int cols;
+    private final Occupancy occupancy;
+
+    //Tile costs, null as long as every tile costs 1
+    private int[] costs;
+    private int weightedTiles;
+    private int maxCost = 1;
+
+    //Shortest path tree
+    private int[] roots = new int[0];
+    private final int[] singleRoot = new int[1];
+    private final boolean[] rootTiles;
+    private boolean stale;
+    private final int[] distance;
+    private final int[] parent;
+
+    //Search buffers
+    private final int[] queue;
+    private int head;
+    private int tail;
+    private final int[] affected;
+    private final long[] seeds;
+
+    //Bucket queue buffers, the buckets are doubly linked lists of tiles
+    private int[] bucketHead;
+    private int[] bucketNext;
+    private int[] bucketPrev;
+
+    /**
+     * The constructor of the GridPathfinder class, allocates the buffers for a field of the given dimension.
+     *
+     * @param occupancy the manned state of the field, which is read by the searches.
+     * @param rows the rows of the field.
+     * @param cols the cols of the field.
+     */
+    public GridPathfinder(Occupancy occupancy, int rows, int cols) {
+        this.occupancy = occupancy;
+        this.rows = rows;
+        this.cols = cols;
+        distance = new int[rows * cols];
+        parent = new int[rows * cols];
+        queue = new int[rows * cols];
+        affected = new int[rows * cols];
+        seeds = new long[rows * cols];
+        rootTiles = new boolean[rows * cols];
+    }
+
+    /**
+     * Sets the end tile of the shortest path tree. The tree is only built from scratch if the end tile has changed
+     * or a weighted tree is outdated.
+     *
+     * @param endIndex the index of the tile, all paths end at.
+     */
+    public void setRoot(int endIndex) {
+        if (roots.length != 1 || roots[0] != endIndex || stale) {
+            singleRoot[0] = endIndex;
+            setRoots(singleRoot);
+        }
+    }
+
+    /**
+     * Sets the end tiles of the shortest path tree. The tree is only built from scratch if the end tiles have changed
+     * or a weighted tree is outdated.
+     *
+     * @param endIndices the indices of the tiles, the paths end at.
+     */
+    public void setRoots(int[] endIndices) {
+        if (!Arrays.equals(roots, endIndices) || stale) {
+            for (int root : roots) {
+                rootTiles[root] = false;
+            }
+            if (roots.length != endIndices.length) {
+                roots = new int[endIndices.length];
+            }
+            System.arraycopy(endIndices, 0, roots, 0, endIndices.length);
+            for (int root : roots) {
+                rootTiles[root] = true;
+            }
+            stale = false;
+            if (weightedTiles == 0) {
+                search();
+            } else {
+                searchWeighted();
+            }
+        }
+    }
+
+    /**
+     * Sets the cost to enter a tile. The tree is built again with the next query.
+     *
+     * @param index the index of the tile.
+     * @param cost the cost of the tile, at least 1.
+     */
+    public void setCost(int index, int cost) {
+        if (cost < 1) {
+            throw new IllegalArgumentException("tile cost has to be at least 1, was " + cost);
+        }
+        if (costs == null) {
+            if (cost == 1) {
+                return;
+            }
+            costs = new int[rows * cols];
+            Arrays.fill(costs, 1);
+        }
+        if (costs[index] == 1 && cost != 1) {
+            weightedTiles++;
+        } else if (costs[index] != 1 && cost == 1) {
+            weightedTiles--;
+        }
+        int oldCost = costs[index];
+        costs[index] = cost;
+        if (weightedTiles == 0) {
+            maxCost = 1;
+        } else if (cost >= maxCost) {
+            maxCost = cost;
+        } else if (oldCost == maxCost) {
+            maxCost = findMaxCost();
+        }
+        stale = true;
+    }
+
+    /**
+     * Searches the highest cost of all tiles, after the most expensive tile became cheaper, so the ring of buckets of
+     * the dijkstra algorithm shrinks again.
+     *
+     * @return the highest cost of a tile.
+     */
+    private int findMaxCost() {
+        int max = 1;
+        for (int i = 0; i<costs.length; i++) {
+            max = Math.max(max, costs[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the cost to enter a tile.
+     *
+     * @param index the index of the tile.
+     *
+     * @return the cost of the tile.
+     */
+    public int getCost(int index) {
+        return costs == null ? 1 : costs[index];
+    }
+
+    /**
+     * Drops the shortest path tree, it is built from scratch with the next call of setRoot or setRoots. Has to be called if many
+     * tiles have changed at once.
+     */
+    public void reset() {
+        stale = true;
+    }
+
+    /**
+     * Builds the shortest path tree from scratch by searching backwards from the roots.
+     * Afterwards the parent of every reached tile is the next tile on a fastest path to its closest root.
+     *
+     * @author Mattis Bühler
+     */
+    private void search() {
+        Arrays.fill(distance, UNREACHED);
+        Arrays.fill(parent, -1);
+        clearQueue();
+
+        for (int root : roots) {
+            distance[root] = 0;
+            enqueue(root);
+        }
+
+        int current;
+        int neighbor;
+        while (head != tail) {
+            current = dequeue();
+            for (int direction = 0; direction < 4; direction++) {
+                neighbor = getNeighbor(current, direction);
+                if (neighbor != -1 && distance[neighbor] == UNREACHED && !isBlocked(neighbor)) {
+                    distance[neighbor] = distance[current] + 1;
+                    parent[neighbor] = current;
+                    enqueue(neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the weighted shortest path tree from scratch with the dijkstra algorithm. The open tiles are kept in a
+     * ring of maxCost + 1 buckets, one for every distance, so the next tile is found without comparing distances.
+     * Afterwards the parent of every reached tile is the next tile on a cheapest path to the root.
+     *
+     * @author Mattis Bühler
+     */
+    private void searchWeighted() {
+        Arrays.fill(distance, UNREACHED);
+        Arrays.fill(parent, -1);
+        if (bucketNext == null) {
+            bucketNext = new int[rows * cols];
+            bucketPrev = new int[rows * cols];
+        }
+        if (bucketHead == null || bucketHead.length != maxCost + 1) {
+            bucketHead = new int[maxCost + 1];
+        }
+        Arrays.fill(bucketHead, -1);
+
+        for (int root : roots) {
+            distance[root] = 0;
+            addToBucket(root);
+        }
+        int open = roots.length;
+        int currentDistance = 0;
+
+        int current;
+        int neighbor;
+        int newDistance;
+        while (open > 0) {
+            while (bucketHead[currentDistance % (maxCost + 1)] == -1) {
+                currentDistance++;
+            }
+            current = bucketHead[currentDistance % (maxCost + 1)];
+            removeFromBucket(current);
+            open--;
+
+            newDistance = distance[current] + getCost(current);
+            for (int direction = 0; direction < 4; direction++) {
+                neighbor = getNeighbor(current, direction);
+                if (neighbor != -1 && newDistance < distance[neighbor] && !isBlocked(neighbor)) {
+                    if (distance[neighbor] == UNREACHED) {
+                        open++;
+                    } else {
+                        removeFromBucket(neighbor);
+                    }
+                    distance[neighbor] = newDistance;
+                    parent[neighbor] = current;
+                    addToBucket(neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a tile to the bucket of its distance.
+     *
+     * @param index the index of the tile.
+     */
+    private void addToBucket(int index) {
+        int bucket = distance[index] % (maxCost + 1);
+        bucketPrev[index] = -1;
+        bucketNext[index] = bucketHead[bucket];
+        if (bucketHead[bucket] != -1) {
+            bucketPrev[bucketHead[bucket]] = index;
+        }
+        bucketHead[bucket] = index;
+    }
+
+    /**
+     * Removes a tile from the bucket of its distance.
+     *
+     * @param index the index of the tile.
+     */
+    private void removeFromBucket(int index) {
+        if (bucketPrev[index] == -1) {
+            bucketHead[distance[index] % (maxCost + 1)] = bucketNext[index];
+        } else {
+            bucketNext[bucketPrev[index]] = bucketNext[index];
+        }
+        if (bucketNext[index] != -1) {
+            bucketPrev[bucketNext[index]] = bucketPrev[index];
+        }
+    }
+
+    /**
+     * Repairs the shortest path tree after the manned state of a tile has changed.
+     * Has to be called after every change of the manned tiles, otherwise the tree gets stale.
+     *
+     * @param index the index of the changed tile.
+     */
+    public void tileChanged(int index) {
+        if (weightedTiles != 0) {
+            stale = true;
+            return;
+        }
+        if (roots.length == 0 || rootTiles[index]) {
+            return;
+        }
+        if (isBlocked(index)) {
+            if (distance[index] != UNREACHED) {
+                repairBlocked(index);
+            }
+        } else {
+            repairFreed(index);
+        }
+    }
+
+    /**
+     * Repairs the tree after a tile has been manned.
+     * First all tiles whose way to the root led over the manned tile are checked in order of their distance. A tile
+     * keeps its distance if it has another neighbor one step closer to the root, otherwise it loses its distance and
+     * its children are checked as well. Then the tiles which lost their distance are searched again, starting with
+     * the distances their neighbors outside the affected part offer.
+     *
+     * @param blockedIndex the index of the tile, which has been manned.
+     *
+     * @author Mattis Bühler
+     */
+    private void repairBlocked(int blockedIndex) {
+        int affectedCount = 0;
+        int current;
+        int neighbor;
+
+        clearQueue();
+        enqueueChildren(blockedIndex);
+        distance[blockedIndex] = UNREACHED;
+        parent[blockedIndex] = -1;
+
+        //find the tiles that lost their way to the root
+        while (head != tail) {
+            current = dequeue();
+            int support = findCloserNeighbor(current);
+            if (support != -1) {
+                parent[current] = support;
+            } else {
+                enqueueChildren(current);
+                distance[current] = UNREACHED;
+                parent[current] = -1;
+                affected[affectedCount] = current;
+                affectedCount++;
+            }
+        }
+
+        //seed the lost tiles with the best distance of their neighbors outside the affected part
+        int seedCount = 0;
+        int best;
+        for (int i = 0; i < affectedCount; i++) {
+            current = affected[i];
+            best = findClosestNeighbor(current);
+            if (best != -1) {
+                distance[current] = distance[best] + 1;
+                parent[current] = best;
+                seeds[seedCount] = ((long) distance[current] << 32) | current;
+                seedCount++;
+            }
+        }
+        Arrays.sort(seeds, 0, seedCount);
+
+        //search the affected part, merging the sorted seeds with the queue keeps the distances in order
+        clearQueue();
+        int nextSeed = 0;
+        while (nextSeed < seedCount || head != tail) {
+            if (head == tail || (nextSeed < seedCount && (int) (seeds[nextSeed] >>> 32) <= distance[queue[head]])) {
+                current = (int) seeds[nextSeed];
+                if ((int) (seeds[nextSeed] >>> 32) != distance[current]) {
+                    //the tile has been reached with a shorter distance in the meantime
+                    nextSeed++;
+                    continue;
+                }
+                nextSeed++;
+            } else {
+                current = dequeue();
+            }
+
+            for (int direction = 0; direction < 4; direction++) {
+                neighbor = getNeighbor(current, direction);
+                if (neighbor != -1 && !isBlocked(neighbor) && distance[current] + 1 < distance[neighbor]) {
+                    distance[neighbor] = distance[current] + 1;
+                    parent[neighbor] = current;
+                    enqueue(neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Repairs the tree after a tile has been unmanned.
+     * The tile is connected to its closest neighbor and the shorter distances spread from there on.
+     *
+     * @param freedIndex the index of the tile, which has been unmanned.
+     *
+     * @author Mattis Bühler
+     */
+    private void repairFreed(int freedIndex) {
+        int best = findClosestNeighbor(freedIndex);
+        if (best == -1) {
+            return;
+        }
+        distance[freedIndex] = distance[best] + 1;
+        parent[freedIndex] = best;
+
+        clearQueue();
+        enqueue(freedIndex);
+
+        int current;
+        int neighbor;
+        while (head != tail) {
+            current = dequeue();
+            for (int direction = 0; direction < 4; direction++) {
+                neighbor = getNeighbor(current, direction);
+                if (neighbor != -1 && !isBlocked(neighbor) && distance[current] + 1 < distance[neighbor]) {
+                    distance[neighbor] = distance[current] + 1;
+                    parent[neighbor] = current;
+                    enqueue(neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a free neighbor which is exactly one step closer to the root than the given tile.
+     *
+     * @param index the index of the tile.
+     *
+     * @return the index of the neighbor or -1 if there is non.
+     */
+    private int findCloserNeighbor(int index) {
+        int neighbor;
+        for (int direction = 0; direction < 4; direction++) {
+            neighbor = getNeighbor(index, direction);
+            if (neighbor != -1 && distance[neighbor] != UNREACHED && distance[neighbor] == distance[index] - 1) {
+                return neighbor;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the reached neighbor with the lowest cost to the root, when entering it from the given tile.
+     *
+     * @param index the index of the tile.
+     *
+     * @return the index of the neighbor or -1 if no neighbor is reached.
+     */
+    private int findClosestNeighbor(int index) {
+        int best = -1;
+        int neighbor;
+        for (int direction = 0; direction < 4; direction++) {
+            neighbor = getNeighbor(index, direction);
+            if (neighbor != -1 && distance[neighbor] != UNREACHED
+                    && (best == -1 || distance[neighbor] + getCost(neighbor) < distance[best] + getCost(best))) {
+                best = neighbor;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Adds all neighbors, whose next tile towards the root is the given tile, to the queue.
+     *
+     * @param index the index of the tile.
+     */
+    private void enqueueChildren(int index) {
+        int neighbor;
+        for (int direction = 0; direction < 4; direction++) {
+            neighbor = getNeighbor(index, direction);
+            if (neighbor != -1 && parent[neighbor] == index) {
+                enqueue(neighbor);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the neighbor in the given direction, in the order top, bottom, right, left.
+     *
+     * @param index the index of the tile.
+     * @param direction the direction from 0 to 3.
+     *
+     * @return the index of the neighbor or -1 if the neighbor would be outside the field.
+     */
+    private int getNeighbor(int index, int direction) {
+        return getNeighbor(index, direction, rows, cols);
+    }
+
+    /**
+     * Returns the index of the neighbor in the given direction, in the order top, bottom, right, left.
+     *
+     * @param index the index of the tile.
+     * @param direction the direction from 0 to 3.
+     * @param rows the rows of the field.
+     * @param cols the cols of the field.
+     *
+     * @return the index of the neighbor or -1 if the neighbor would be outside the field.
+     */
+    static int getNeighbor(int index, int direction, int rows, int cols) {
+        switch (direction) {
+            case 0:
+                return index >= cols ? index - cols : -1;
+            case 1:
+                return index < cols * (rows - 1) ? index + cols : -1;
+            case 2:
+                return index % cols != cols - 1 ? index + 1 : -1;
+            default:
+                return index % cols != 0 ? index - 1 : -1;
+        }
+    }
+
+    /**
+     * Converts positions into tile indices.
+     *
+     * @param points the positions.
+     * @param cols the cols of the field.
+     *
+     * @return the indices of the tiles.
+     */
+    static int[] toIndices(Point[] points, int cols) {
+        return toIndices(points, cols, new int[points.length]);
+    }
+
+    /**
+     * Converts positions into tile indices and writes them into the given array, if it has the right length.
+     *
+     * @param points the positions.
+     * @param cols the cols of the field.
+     * @param indices the array to reuse.
+     *
+     * @return the given array or a new one, if its length did not fit.
+     */
+    static int[] toIndices(Point[] points, int cols, int[] indices) {
+        if (indices.length != points.length) {
+            indices = new int[points.length];
+        }
+        for (int i = 0; i < points.length; i++) {
+            indices[i] = points[i].y * cols + points[i].x;
+        }
+        return indices;
+    }
+
+    /**
+     * Checks if positions lie on the given tiles, in the same order, without converting them.
+     *
+     * @param indices the indices of the tiles.
+     * @param points the positions.
+     * @param cols the cols of the field.
+     *
+     * @return if every position lies on the tile with the same index.
+     */
+    static boolean isOnTiles(int[] indices, Point[] points, int cols) {
+        if (indices.length != points.length) {
+            return false;
+        }
+        for (int i = 0; i < points.length; i++) {
+            if (indices[i] != points[i].y * cols + points[i].x) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a tile can not be walked on. The roots are always treated as free.
+     *
+     * @param index the index of the tile.
+     *
+     * @return if the tile is manned and not a root.
+     */
+    private boolean isBlocked(int index) {
+        return !rootTiles[index] && occupancy.isManned(index);
+    }
+
+    /**
+     * Empties the ring buffer queue.
+     */
+    private void clearQueue() {
+        head = 0;
+        tail = 0;
+    }
+
+    /**
+     * Adds a tile at the tail of the ring buffer queue.
+     *
+     * @param index the index of the tile.
+     */
+    private void enqueue(int index) {
+        queue[tail] = index;
+        tail++;
+        if (tail == queue.length) {
+            tail = 0;
+        }
+    }
+
+    /**
+     * Removes the tile at the head of the ring buffer queue.
+     *
+     * @return the index of the removed tile.
+     */
+    private int dequeue() {
+        int index = queue[head];
+        head++;
+        if (head == queue.length) {
+            head = 0;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the number of steps from a tile to its closest root, or the cost of the cheapest path on a weighted
+     * field. A manned tile, like a portal, is not part of the tree, its distance is calculated from its closest
+     * neighbor.
+     *
+     * @param index the index of the tile.
+     *
+     * @return the number of steps or cost to the root or UNREACHED.
+     */
+    public int getDistance(int index) {
+        if (isBlocked(index)) {
+            int best = findClosestNeighbor(index);
+            return best == -1 ? UNREACHED : distance[best] + getCost(best);
+        }
+        return distance[index];
+    }
+
+    /**
+     * Returns the next tile on the way from a tile to the root.
+     *
+     * @param index the index of the tile.
+     *
+     * @return the index of the next tile or -1 if the tile is the root or not reached.
+     */
+    public int getNextTile(int index) {
+        if (isBlocked(index)) {
+            return findClosestNeighbor(index);
+        }
+        return parent[index];
+    }
+}
@@ -0,0 +1,352 @@
+package io.swapastack.dunetd.world.field;
+
+import java.util.Arrays;
+
+/**
+ * The Occupancy class.
+ * Holds the manned state of all tiles of a field as a bitboard, one bit per tile packed into longs, please refer
+ * https://en.wikipedia.org/wiki/Bitboard. Tiles are addressed by their index (y * cols + x) like in the pathfinding.
+ * A whole row of tiles is checked at once, so copying, comparing and hashing an occupancy only costs one step per 64
+ * tiles, and a breadth first search can grow its frontier by all neighbors in one pass over the words. A snapshot
+ * shares the masks of the outer columns with the occupancy it was taken from, so only the manned bits are copied.
+ *
+ * @author Mattis Bühler
+ */
+public class Occupancy {
+    //Field dimension
+    private final int rows;
+    private final int cols;
+    private final int tiles;
+
+    //Manned bits
+    private final long[] words;
+
+    //Masks of the outer columns and of the used bits, needed to keep shifted bits inside their row, never changed
+    private final long[] firstColumn;
+    private final long[] lastColumn;
+    private final long[] field;
+
+    //Expansion buffer, created with the first search
+    private long[] frontier;
+
+    /**
+     * The constructor of the Occupancy class, creates an occupancy without manned tiles.
+     *
+     * @param rows the rows of the field.
+     * @param cols the cols of the field.
+     */
+    public Occupancy(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        tiles = rows * cols;
+        words = newBoard();
+        firstColumn = newBoard();
+        lastColumn = newBoard();
+        field = newBoard();
+
+        for (int index = 0; index < tiles; index++) {
+            setBit(field, index);
+            if (index % cols == 0) {
+                setBit(firstColumn, index);
+            }
+            if (index % cols == cols - 1) {
+                setBit(lastColumn, index);
+            }
+        }
+    }
+
+    /**
+     * Constructor of a snapshot, which copies the manned bits of another occupancy and shares its masks.
+     *
+     * @param other the occupancy to copy.
+     */
+    private Occupancy(Occupancy other) {
+        rows = other.rows;
+        cols = other.cols;
+        tiles = other.tiles;
+        words = other.words.clone();
+        firstColumn = other.firstColumn;
+        lastColumn = other.lastColumn;
+        field = other.field;
+    }
+
+    /**
+     * Creates an empty bitboard with one bit for every tile of the field.
+     *
+     * @return the new bitboard.
+     */
+    public long[] newBoard() {
+        return new long[(tiles + 63) >>> 6];
+    }
+
+    /**
+     * Checks if a tile is manned.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return if the tile is manned.
+     *
+     * @throws IndexOutOfBoundsException if the tile lies outside of the field.
+     */
+    public boolean isManned(int xCoord, int yCoord) {
+        return isManned(toIndex(xCoord, yCoord));
+    }
+
+    /**
+     * Checks if a tile is manned. The index is not checked, the caller must make sure that it lies on the field, like
+     * the pathfinding does for every neighbor.
+     *
+     * @param index the index of the tile.
+     *
+     * @return if the tile is manned.
+     */
+    public boolean isManned(int index) {
+        return (words[index >>> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Sets the manned state of a tile.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     * @param manned the new manned state.
+     *
+     * @return true if the state of the tile has changed.
+     *
+     * @throws IndexOutOfBoundsException if the tile lies outside of the field.
+     */
+    public boolean set(int xCoord, int yCoord, boolean manned) {
+        int index = toIndex(xCoord, yCoord);
+        if (isManned(index) == manned) {
+            return false;
+        }
+        words[index >>> 6] ^= 1L << index;
+        return true;
+    }
+
+    /**
+     * Returns the index of a tile and checks that it lies on the field, because a column outside of the field would
+     * otherwise address a tile of the next row.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return the index of the tile.
+     */
+    private int toIndex(int xCoord, int yCoord) {
+        if (xCoord < 0 || xCoord >= cols || yCoord < 0 || yCoord >= rows) {
+            throw new IndexOutOfBoundsException("tile " + xCoord + "," + yCoord + " lies outside of a " + cols + "x"
+                    + rows + " field");
+        }
+        return yCoord * cols + xCoord;
+    }
+
+    /**
+     * Returns the number of manned tiles.
+     *
+     * @return the number of manned tiles.
+     */
+    public int count() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Adds all free neighbors of the tiles in the frontier to the result, together with the frontier itself. This is
+     * one step of a breadth first search for every tile of the frontier at once.
+     *
+     * @param frontier the bitboard of the tiles to expand, created with newBoard.
+     * @param result the bitboard, the expanded tiles are written to. It must not be the frontier.
+     *
+     * @author Mattis Bühler
+     */
+    public void expand(long[] frontier, long[] result) {
+        System.arraycopy(frontier, 0, result, 0, words.length);
+        orShifted(frontier, 1, result, firstColumn);
+        orShifted(frontier, -1, result, lastColumn);
+        orShifted(frontier, cols, result, null);
+        orShifted(frontier, -cols, result, null);
+        for (int word = 0; word < words.length; word++) {
+            result[word] = (result[word] & ~words[word] | frontier[word]) & field[word];
+        }
+    }
+
+    /**
+     * Marks all tiles in the result, which can be reached from the given tile without entering a manned tile. The
+     * given tile itself may be manned, like a portal.
+     *
+     * @param index the index of the tile, the search starts from.
+     * @param result the bitboard, the reached tiles are written to, created with newBoard.
+     *
+     * @return the number of steps to the farthest reached tile.
+     *
+     * @author Mattis Bühler
+     */
+    public int fillReachable(int index, long[] result) {
+        if (frontier == null) {
+            frontier = newBoard();
+        }
+        Arrays.fill(result, 0);
+        setBit(result, index);
+        int steps = -1;
+        boolean grown = true;
+        while (grown) {
+            System.arraycopy(result, 0, frontier, 0, words.length);
+            expand(frontier, result);
+            grown = !Arrays.equals(frontier, result);
+            steps++;
+        }
+        return steps;
+    }
+
+    /**
+     * Shifts all bits of the source by the given number of tiles and adds them to the target. Bits which would land
+     * on a tile of the excluded mask are dropped, so horizontal neighbors do not wrap into the next row.
+     *
+     * @param source the bitboard to shift.
+     * @param shift the number of tiles, positive towards higher indices.
+     * @param target the bitboard, the shifted bits are added to.
+     * @param excluded the mask of tiles, which must not be reached or null.
+     */
+    private void orShifted(long[] source, int shift, long[] target, long[] excluded) {
+        int wordShift = Math.abs(shift) >>> 6;
+        int bitShift = Math.abs(shift) & 63;
+        long shifted;
+        for (int word = 0; word < words.length; word++) {
+            if (shift > 0) {
+                int from = word - wordShift;
+                shifted = from < 0 ? 0 : source[from] << bitShift;
+                if (bitShift != 0 && from > 0) {
+                    shifted |= source[from - 1] >>> (64 - bitShift);
+                }
+            } else {
+                int from = word + wordShift;
+                shifted = from >= words.length ? 0 : source[from] >>> bitShift;
+                if (bitShift != 0 && from + 1 < words.length) {
+                    shifted |= source[from + 1] << (64 - bitShift);
+                }
+            }
+            if (excluded != null) {
+                shifted &= ~excluded[word];
+            }
+            target[word] |= shifted;
+        }
+    }
+
+    /**
+     * Sets the bit of a tile on a bitboard.
+     *
+     * @param board the bitboard.
+     * @param index the index of the tile.
+     */
+    private static void setBit(long[] board, int index) {
+        board[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Returns a snapshot of this occupancy, which is not changed with the field. Only the packed bits are copied.
+     *
+     * @return the copy of this occupancy.
+     */
+    public Occupancy copy() {
+        return new Occupancy(this);
+    }
+
+    /**
+     * Overwrites the manned state of all tiles with the state of another occupancy of the same dimension.
+     *
+     * @param other the occupancy to copy.
+     */
+    public void copyFrom(Occupancy other) {
+        checkDimension(other);
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+
+    /**
+     * Returns the number of tiles, which have a different manned state in the other occupancy.
+     *
+     * @param other the occupancy to compare with, of the same dimension.
+     *
+     * @return the number of different tiles.
+     */
+    public int countDifferences(Occupancy other) {
+        checkDimension(other);
+        int count = 0;
+        for (int word = 0; word < words.length; word++) {
+            count += Long.bitCount(words[word] ^ other.words[word]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the packed manned bits, for example to save them. Bit (index & 63) of word (index / 64) is the tile
+     * with the given index.
+     *
+     * @return a copy of the packed bits.
+     */
+    public long[] toLongArray() {
+        return words.clone();
+    }
+
+    /**
+     * Returns a 64 bit hash of the manned tiles, which can be used as cache key.
+     *
+     * @return the hash.
+     */
+    public long hash64() {
+        long hash = (long) rows << 32 | cols;
+        for (long word : words) {
+            hash = (hash ^ word) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        return hash;
+    }
+
+    /**
+     * Throws an exception if the other occupancy belongs to a field of another dimension.
+     *
+     * @param other the other occupancy.
+     */
+    private void checkDimension(Occupancy other) {
+        if (other.rows != rows || other.cols != cols) {
+            throw new IllegalArgumentException("occupancy of a " + other.cols + "x" + other.rows + " field does not fit a "
+                    + cols + "x" + rows + " field");
+        }
+    }
+
+    /**
+     * Returns the rows of the field.
+     *
+     * @return the rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the cols of the field.
+     *
+     * @return the cols.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Occupancy)) {
+            return false;
+        }
+        Occupancy occupancy = (Occupancy) other;
+        return rows == occupancy.rows && cols == occupancy.cols && Arrays.equals(words, occupancy.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash64());
+    }
+}
@@ -0,0 +1,115 @@
+package io.swapastack.dunetd.world.field;
+
+import java.awt.*;
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * The PackedPath class.
+ * An unmodifiable path, which only keeps its corners. Between two corners the path goes straight, so every point is
+ * calculated from the corner before it when it is read. A path with few corners needs a few ints, no matter how long
+ * it is, and can be shared by everyone walking it.
+ *
+ * @author Mattis Bühler
+ */
+public class PackedPath extends AbstractList<Point> {
+    //Path without points
+    public static final PackedPath EMPTY = new PackedPath(new int[0], 0, 1);
+
+    //Field dimension
+    private final int cols;
+
+    //Tile index of the first tile, every corner and the last tile, with the number of steps from the first tile
+    private final int[] waypoints;
+    private final int[] steps;
+
+    /**
+     * The constructor of the PackedPath class. Collapses the given tiles into straight segments.
+     *
+     * @param tiles the indices of the tiles of the path in order, every tile a neighbor of the tile before.
+     * @param length the number of tiles of the path.
+     * @param cols the cols of the field.
+     *
+     * @author Mattis Bühler
+     */
+    PackedPath(int[] tiles, int length, int cols) {
+        this.cols = cols;
+        int[] corners = new int[length];
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (i == 0 || i == length - 1 || tiles[i] - tiles[i - 1] != tiles[i + 1] - tiles[i]) {
+                corners[count++] = i;
+            }
+        }
+
+        waypoints = new int[count];
+        steps = new int[count];
+        for (int i = 0; i < count; i++) {
+            waypoints[i] = tiles[corners[i]];
+            steps[i] = corners[i];
+        }
+    }
+
+    /**
+     * Returns the point of the path at the given position.
+     *
+     * @param index the position on the path, 0 is the first point.
+     *
+     * @return a new point with the coordinates of the tile.
+     */
+    @Override
+    public Point get(int index) {
+        int tile = getTile(index);
+        return new Point(tile % cols, tile / cols);
+    }
+
+    /**
+     * Returns the tile index of the point at the given position, the segment is found with a binary search.
+     *
+     * @param index the position on the path, 0 is the first point.
+     *
+     * @return the index of the tile.
+     */
+    public int getTile(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index " + index + " on a path of " + size() + " points");
+        }
+        int segment = Arrays.binarySearch(steps, index);
+        if (segment >= 0) {
+            return waypoints[segment];
+        }
+        segment = -segment - 2;
+        int direction = (waypoints[segment + 1] - waypoints[segment]) / (steps[segment + 1] - steps[segment]);
+        return waypoints[segment] + (index - steps[segment]) * direction;
+    }
+
+    /**
+     * Returns the number of points of the path.
+     *
+     * @return the number of points.
+     */
+    @Override
+    public int size() {
+        return steps.length == 0 ? 0 : steps[steps.length - 1] + 1;
+    }
+
+    /**
+     * Returns the number of straight segments of the path.
+     *
+     * @return the number of segments.
+     */
+    public int getSegmentCount() {
+        return Math.max(waypoints.length - 1, 0);
+    }
+
+    /**
+     * Returns the first point of a segment. The last point of the path is the waypoint after the last segment.
+     *
+     * @param waypoint the number of the segment.
+     *
+     * @return a new point with the coordinates of the waypoint.
+     */
+    public Point getWaypoint(int waypoint) {
+        return new Point(waypoints[waypoint] % cols, waypoints[waypoint] / cols);
+    }
+}
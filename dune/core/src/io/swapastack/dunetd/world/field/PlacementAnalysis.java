@@ -0,0 +1,549 @@
+package io.swapastack.dunetd.world.field;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * The PlacementAnalysis class.
+ * Knows for every tile of a field, if manning it would disconnect a startportal from all endportals and how long the
+ * fastest path of the first startportal would be afterwards. Both maps are refreshed once after the manned tiles have changed, so checking a placement
+ * is an array lookup.
+ * The disconnecting tiles are the articulation points between the portals, please refer
+ * https://en.wikipedia.org/wiki/Biconnected_component. The path lengths are the replacement paths of the current
+ * fastest path, only manning a tile of this path can make it longer.
+ * Several endportals are searched like one endportal behind all of them, so the cost does not grow with the number of
+ * portals.
+ *
+ * @author Mattis Bühler
+ */
+public class PlacementAnalysis {
+    //Field dimension and manned state
+    private final int rows;
+    private final int cols;
+    private final Occupancy occupancy;
+
+    //Portals, the first startportal is the one the path lengths belong to
+    private final int[] startIndices;
+    private final int[] endIndices;
+    private final int startIndex;
+    private final boolean[] startTiles;
+    private final boolean[] endTiles;
+
+    //Results
+    private boolean changed = true;
+    private boolean connected;
+    private int pathLength;
+    private final boolean[] disconnecting;
+    private final int[] pathLengthIfManned;
+
+    //Depth first search buffers
+    private final int[] discovery;
+    private final int[] low;
+    private final int[] dfsParent;
+    private final int[] nextDirection;
+    private final int[] stack;
+    private final boolean[] walked;
+
+    //Breadth first search buffers
+    private final int[] distanceFromStart;
+    private final int[] parentFromStart;
+    private final int[] distanceToEnd;
+    private final int[] parentToEnd;
+    private final int[] order;
+
+    //Path buffers
+    private final int[] path;
+    private final int[] pathIndex;
+    private final int[] lastPathIndex;
+    private final int[] firstPathIndex;
+
+    //Detour buffers
+    private final long[] detours;
+    private final int[] detourFrom;
+    private final int[] detourTo;
+    private final int[] nextOpen;
+    private final int[] trapped;
+    private final int[] trappedStart;
+    private final int[] detourDistance;
+    private final long[] seeds;
+
+    /**
+     * The constructor of the PlacementAnalysis class. Is called by the field, the analysis belongs to.
+     *
+     * @param occupancy the manned state of the field.
+     * @param rows the rows of the field.
+     * @param cols the cols of the field.
+     * @param startPoints the positions of the startportals.
+     * @param endPoints the positions of the endportals.
+     */
+    PlacementAnalysis(Occupancy occupancy, int rows, int cols, Point[] startPoints, Point[] endPoints) {
+        this.occupancy = occupancy;
+        this.rows = rows;
+        this.cols = cols;
+
+        int tiles = rows * cols;
+        startTiles = new boolean[tiles];
+        endTiles = new boolean[tiles];
+        startIndices = GridPathfinder.toIndices(startPoints, cols);
+        endIndices = GridPathfinder.toIndices(endPoints, cols);
+        startIndex = startIndices[0];
+        for (int index : startIndices) {
+            startTiles[index] = true;
+        }
+        for (int index : endIndices) {
+            endTiles[index] = true;
+        }
+
+        disconnecting = new boolean[tiles];
+        pathLengthIfManned = new int[tiles];
+        discovery = new int[tiles];
+        low = new int[tiles];
+        dfsParent = new int[tiles];
+        nextDirection = new int[tiles];
+        stack = new int[tiles];
+        walked = new boolean[tiles];
+        distanceFromStart = new int[tiles];
+        parentFromStart = new int[tiles];
+        distanceToEnd = new int[tiles];
+        parentToEnd = new int[tiles];
+        order = new int[tiles];
+        path = new int[tiles];
+        pathIndex = new int[tiles];
+        lastPathIndex = new int[tiles];
+        firstPathIndex = new int[tiles];
+        detours = new long[tiles * 4];
+        detourFrom = new int[tiles * 4];
+        detourTo = new int[tiles * 4];
+        nextOpen = new int[tiles + 1];
+        trapped = new int[tiles];
+        trappedStart = new int[tiles + 1];
+        detourDistance = new int[tiles];
+        seeds = new long[tiles];
+    }
+
+    /**
+     * Checks if the given positions are the portals of this analysis.
+     *
+     * @param startPoints the positions of the startportals.
+     * @param endPoints the positions of the endportals.
+     *
+     * @return if the portals are the same.
+     */
+    boolean hasPortals(Point[] startPoints, Point[] endPoints) {
+        return Arrays.equals(startIndices, GridPathfinder.toIndices(startPoints, cols))
+                && Arrays.equals(endIndices, GridPathfinder.toIndices(endPoints, cols));
+    }
+
+    /**
+     * Marks the analysis as outdated, it is refreshed with the next query. Is called by the field on every change of
+     * the manned tiles.
+     */
+    void invalidate() {
+        changed = true;
+    }
+
+    /**
+     * Checks if manning the given tile would leave a startportal without a path to any endportal.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return true if the tile must not be manned.
+     */
+    public boolean isDisconnecting(int xCoord, int yCoord) {
+        refresh();
+        return !connected || disconnecting[yCoord * cols + xCoord];
+    }
+
+    /**
+     * Returns the number of steps of the fastest path from the first startportal to the closest endportal, if the
+     * given free tile would be manned.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return the number of steps or GridPathfinder.UNREACHED if manning the tile would disconnect the portals.
+     */
+    public int getPathLengthIfManned(int xCoord, int yCoord) {
+        refresh();
+        if (!connected) {
+            return GridPathfinder.UNREACHED;
+        }
+        return pathLengthIfManned[yCoord * cols + xCoord];
+    }
+
+    /**
+     * Returns the number of steps of the current fastest path from the first startportal to the closest endportal.
+     *
+     * @return the number of steps or GridPathfinder.UNREACHED if the portals are not connected.
+     */
+    public int getPathLength() {
+        refresh();
+        return connected ? pathLength : GridPathfinder.UNREACHED;
+    }
+
+    /**
+     * Recalculates both maps, if the manned tiles have changed since the last refresh.
+     *
+     * @author Mattis Bühler
+     */
+    private void refresh() {
+        if (!changed) {
+            return;
+        }
+        changed = false;
+
+        Arrays.fill(disconnecting, false);
+        connected = findDisconnectingTiles();
+        if (connected) {
+            findPathLengths();
+        }
+    }
+
+    /**
+     * Searches the articulation points between the portals with an iterative depth first search from the first
+     * endportal. All endportals are treated as neighbors of each other, so they are left together. A tile on the way
+     * from a startportal up to the root is disconnecting, if the subtree containing the startportal has no edge which
+     * leads above the tile. The ways of the startportals are walked until they meet a way which has been walked before.
+     *
+     * @return if every startportal is connected to an endportal.
+     *
+     * @author Mattis Bühler
+     */
+    private boolean findDisconnectingTiles() {
+        Arrays.fill(discovery, 0);
+        int time = 1;
+        int top = 0;
+        int current;
+        int neighbor;
+
+        int root = endIndices[0];
+        discovery[root] = time;
+        low[root] = time;
+        dfsParent[root] = -1;
+        nextDirection[root] = 0;
+        stack[top] = root;
+        top++;
+
+        while (top > 0) {
+            current = stack[top - 1];
+            if (nextDirection[current] < (endTiles[current] ? 4 + endIndices.length : 4)) {
+                if (nextDirection[current] < 4) {
+                    neighbor = GridPathfinder.getNeighbor(current, nextDirection[current], rows, cols);
+                } else {
+                    neighbor = endIndices[nextDirection[current] - 4];
+                }
+                nextDirection[current]++;
+                if (neighbor == -1 || isManned(neighbor)) {
+                    continue;
+                }
+                if (discovery[neighbor] == 0) {
+                    time++;
+                    discovery[neighbor] = time;
+                    low[neighbor] = time;
+                    dfsParent[neighbor] = current;
+                    nextDirection[neighbor] = 0;
+                    stack[top] = neighbor;
+                    top++;
+                } else if (neighbor != dfsParent[current]) {
+                    low[current] = Math.min(low[current], discovery[neighbor]);
+                }
+            } else {
+                top--;
+                if (dfsParent[current] != -1) {
+                    low[dfsParent[current]] = Math.min(low[dfsParent[current]], low[current]);
+                }
+            }
+        }
+
+        for (int start : startIndices) {
+            if (discovery[start] == 0) {
+                return false;
+            }
+        }
+
+        //walk from the startportals up to the endportals
+        Arrays.fill(walked, false);
+        int child;
+        for (int start : startIndices) {
+            child = start;
+            for (int tile = dfsParent[start]; tile != -1 && !walked[child]; tile = dfsParent[tile]) {
+                walked[child] = true;
+                if (!endTiles[tile] && low[child] >= discovery[tile]) {
+                    disconnecting[tile] = true;
+                }
+                child = tile;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculates the path length for every tile of the current fastest path with replacement paths.
+     * Every tile gets the last index of the path, which its fastest way from the startportal shares, and the first
+     * index of the path, which its fastest way to the endportal shares. Every edge between two tiles is a detour
+     * around all path tiles between these two indices, the shortest detour around a path tile is its new length.
+     *
+     * @author Mattis Bühler
+     */
+    private void findPathLengths() {
+        //the fastest path
+        int reached = bfs(endIndices, distanceToEnd, parentToEnd);
+        pathLength = distanceToEnd[startIndex];
+        Arrays.fill(pathIndex, -1);
+        int tile = startIndex;
+        for (int i = 0; i <= pathLength; i++) {
+            path[i] = tile;
+            pathIndex[tile] = i;
+            tile = parentToEnd[tile];
+        }
+
+        //the first path index on the way to the closest endportal, the other endportals count as the end of the path
+        for (int i = 0; i < reached; i++) {
+            tile = order[i];
+            if (pathIndex[tile] != -1) {
+                firstPathIndex[tile] = pathIndex[tile];
+            } else if (parentToEnd[tile] == -1) {
+                firstPathIndex[tile] = pathLength;
+            } else {
+                firstPathIndex[tile] = firstPathIndex[parentToEnd[tile]];
+            }
+        }
+
+        //the last path index on the way from the startportal, the path itself is forced into this tree
+        //from here on only the tiles connected to the startportal count, other endportals may have more tiles
+        reached = bfs(new int[] {startIndex}, distanceFromStart, parentFromStart);
+        for (int i = 0; i < reached; i++) {
+            tile = order[i];
+            lastPathIndex[tile] = pathIndex[tile] != -1 ? pathIndex[tile] : lastPathIndex[parentFromStart[tile]];
+        }
+
+        //collect the detours
+        int detourCount = 0;
+        int neighbor;
+        for (int i = 0; i < reached; i++) {
+            tile = order[i];
+            for (int direction = 0; direction < 4; direction++) {
+                neighbor = GridPathfinder.getNeighbor(tile, direction, rows, cols);
+                if (neighbor == -1 || isManned(neighbor) || lastPathIndex[tile] + 1 >= firstPathIndex[neighbor]) {
+                    continue;
+                }
+                detours[detourCount] = ((long) (distanceFromStart[tile] + 1 + distanceToEnd[neighbor]) << 32) | detourCount;
+                detourFrom[detourCount] = lastPathIndex[tile] + 1;
+                detourTo[detourCount] = firstPathIndex[neighbor];
+                detourCount++;
+            }
+        }
+        Arrays.sort(detours, 0, detourCount);
+
+        //assign the shortest detour to every path tile, so every path tile is only assigned once
+        Arrays.fill(pathLengthIfManned, pathLength);
+        for (int i = 0; i <= pathLength + 1; i++) {
+            nextOpen[i] = i;
+        }
+        for (int i = 1; i < pathLength; i++) {
+            pathLengthIfManned[path[i]] = GridPathfinder.UNREACHED;
+        }
+
+        int detour;
+        for (int i = 0; i < detourCount; i++) {
+            detour = (int) detours[i];
+            for (int k = findOpen(detourFrom[detour]); k < detourTo[detour]; k = findOpen(k)) {
+                pathLengthIfManned[path[k]] = (int) (detours[i] >>> 32);
+                nextOpen[k] = k + 1;
+            }
+        }
+
+        findTrappedDetours(reached);
+    }
+
+    /**
+     * Shortens the path lengths with detours over trapped tiles. The fastest ways of a trapped tile from the
+     * startportal and to the endportal both lead over the same path tile, so if this path tile is manned, the
+     * distance of the trapped tile has to be searched again, starting from its neighbors before the path tile.
+     * Every tile is trapped behind at most one path tile, so all these searches together visit every tile once.
+     *
+     * @param reached the number of tiles, which are connected to the portals.
+     *
+     * @author Mattis Bühler
+     */
+    private void findTrappedDetours(int reached) {
+        //sort the trapped tiles by the index of their path tile
+        int tile;
+        Arrays.fill(trappedStart, 0);
+        for (int i = 0; i < reached; i++) {
+            tile = order[i];
+            if (isTrapped(tile)) {
+                trappedStart[lastPathIndex[tile] + 1]++;
+            }
+        }
+        for (int i = 1; i < trappedStart.length; i++) {
+            trappedStart[i] += trappedStart[i - 1];
+        }
+        for (int i = 0; i < reached; i++) {
+            tile = order[i];
+            if (isTrapped(tile)) {
+                trapped[trappedStart[lastPathIndex[tile]]] = tile;
+                trappedStart[lastPathIndex[tile]]++;
+            }
+        }
+        //the starts have been moved to the ends of their groups, the group of path index i ends at trappedStart[i]
+
+        int neighbor;
+        int best;
+        int length;
+        int seedCount;
+        int groupStart;
+        for (int i = 1; i < pathLength; i++) {
+            groupStart = trappedStart[i - 1];
+            if (groupStart == trappedStart[i]) {
+                continue;
+            }
+
+            //seed the trapped tiles from their neighbors before the path tile
+            seedCount = 0;
+            for (int k = groupStart; k < trappedStart[i]; k++) {
+                tile = trapped[k];
+                best = GridPathfinder.UNREACHED;
+                for (int direction = 0; direction < 4; direction++) {
+                    neighbor = GridPathfinder.getNeighbor(tile, direction, rows, cols);
+                    if (neighbor != -1 && !isManned(neighbor) && lastPathIndex[neighbor] < i) {
+                        best = Math.min(best, distanceFromStart[neighbor] + 1);
+                    }
+                }
+                detourDistance[tile] = best;
+                if (best != GridPathfinder.UNREACHED) {
+                    seeds[seedCount] = ((long) best << 32) | tile;
+                    seedCount++;
+                }
+            }
+            Arrays.sort(seeds, 0, seedCount);
+
+            //search the group, merging the sorted seeds with the queue keeps the distances in order
+            int head = 0;
+            int tail = 0;
+            int nextSeed = 0;
+            while (nextSeed < seedCount || head != tail) {
+                if (head == tail || (nextSeed < seedCount && (int) (seeds[nextSeed] >>> 32) <= detourDistance[stack[head]])) {
+                    tile = (int) seeds[nextSeed];
+                    nextSeed++;
+                    if ((int) (seeds[nextSeed - 1] >>> 32) != detourDistance[tile]) {
+                        continue;
+                    }
+                } else {
+                    tile = stack[head];
+                    head++;
+                }
+                for (int direction = 0; direction < 4; direction++) {
+                    neighbor = GridPathfinder.getNeighbor(tile, direction, rows, cols);
+                    if (neighbor != -1 && !isManned(neighbor) && isTrapped(neighbor) && lastPathIndex[neighbor] == i
+                            && detourDistance[tile] + 1 < detourDistance[neighbor]) {
+                        detourDistance[neighbor] = detourDistance[tile] + 1;
+                        stack[tail] = neighbor;
+                        tail++;
+                    }
+                }
+            }
+
+            //leave the group to a tile behind the path tile
+            length = pathLengthIfManned[path[i]];
+            for (int k = groupStart; k < trappedStart[i]; k++) {
+                tile = trapped[k];
+                if (detourDistance[tile] == GridPathfinder.UNREACHED) {
+                    continue;
+                }
+                for (int direction = 0; direction < 4; direction++) {
+                    neighbor = GridPathfinder.getNeighbor(tile, direction, rows, cols);
+                    if (neighbor != -1 && !isManned(neighbor) && firstPathIndex[neighbor] > i) {
+                        length = Math.min(length, detourDistance[tile] + 1 + distanceToEnd[neighbor]);
+                    }
+                }
+            }
+            pathLengthIfManned[path[i]] = length;
+        }
+    }
+
+    /**
+     * Checks if a tile is trapped behind a path tile, so that its fastest ways from the startportal and to the
+     * endportal lead over the same path tile. Has to be called for connected tiles only.
+     *
+     * @param index the index of the tile.
+     *
+     * @return if the tile is trapped.
+     */
+    private boolean isTrapped(int index) {
+        return pathIndex[index] == -1 && lastPathIndex[index] == firstPathIndex[index];
+    }
+
+    /**
+     * Returns the first path index from the given index on, which has no detour assigned yet.
+     *
+     * @param index the path index to start from.
+     *
+     * @return the first open path index.
+     */
+    private int findOpen(int index) {
+        int open = index;
+        while (nextOpen[open] != open) {
+            open = nextOpen[open];
+        }
+        //shorten the chain for the next search
+        int next;
+        while (nextOpen[index] != open) {
+            next = nextOpen[index];
+            nextOpen[index] = open;
+            index = next;
+        }
+        return open;
+    }
+
+    /**
+     * Runs a breadth first search over the free tiles from the given tiles and remembers the order of the visited tiles.
+     *
+     * @param rootIndices the indices of the tiles, the search starts at.
+     * @param distance the buffer for the distances to the root.
+     * @param parent the buffer for the parents towards the root.
+     *
+     * @return the number of visited tiles.
+     */
+    private int bfs(int[] rootIndices, int[] distance, int[] parent) {
+        Arrays.fill(distance, GridPathfinder.UNREACHED);
+        int head = 0;
+        int tail = 0;
+        int current;
+        int neighbor;
+
+        for (int rootIndex : rootIndices) {
+            distance[rootIndex] = 0;
+            parent[rootIndex] = -1;
+            order[tail] = rootIndex;
+            tail++;
+        }
+
+        while (head != tail) {
+            current = order[head];
+            head++;
+            for (int direction = 0; direction < 4; direction++) {
+                neighbor = GridPathfinder.getNeighbor(current, direction, rows, cols);
+                if (neighbor != -1 && distance[neighbor] == GridPathfinder.UNREACHED && !isManned(neighbor)) {
+                    distance[neighbor] = distance[current] + 1;
+                    parent[neighbor] = current;
+                    order[tail] = neighbor;
+                    tail++;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Checks if a tile can not be walked on. The portals are always treated as free.
+     *
+     * @param index the index of the tile.
+     *
+     * @return if the tile is manned and no portal.
+     */
+    private boolean isManned(int index) {
+        return !startTiles[index] && !endTiles[index] && occupancy.isManned(index);
+    }
+}
@@ -6,15 +6,10 @@ import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.Vector3;
 import io.swapastack.dunetd.screens.GameScreen;
 import io.swapastack.dunetd.screens.MainMenuScreen;
-import io.swapastack.dunetd.world.placeable.turret.AbstractTurret;
-import io.swapastack.dunetd.world.placeable.turret.BombTurret;
-import io.swapastack.dunetd.world.placeable.turret.SoundTurret;
+import io.swapastack.dunetd.world.placeable.PlaceableRegistry;
 import io.swapastack.dunetd.world.GameWorld;
 import net.mgsx.gltf.scene3d.scene.Scene;
 
-import java.awt.*;
-import java.util.ArrayList;
-
 /**
  * The BuyingHandler class.
  *
@@ -146,24 +141,23 @@ public class BuyingHandler {
      * @author Mattis Bühler
      */
     private void sellATurret() {
-        AbstractTurret selledTurret;
-
         int mouseX = Math.round(mousePosition.x);
         int mouseY = Math.round(mousePosition.z);
 
-        if (world.getMannedTiles()[mouseX][mouseY]
-                && !(world.startPoint.x == mouseX && world.startPoint.y == mouseY)
-                && !(world.endPoint.x == mouseX && world.endPoint.y == mouseY)) {
+        byte turretType = world.getTurretType(mouseX, mouseY);
 
-            if (Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
-                selledTurret = world.destroyTurret(mouseX, mouseY);
-                if (selledTurret instanceof SoundTurret) {
+        if (turretType != PlaceableRegistry.NONE && Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) {
+            world.destroyTurret(mouseX, mouseY);
+            switch (turretType) {
+                case PlaceableRegistry.SOUND_TURRET:
                     world.spice += (soundturretCost/2);
-                } else if (selledTurret instanceof BombTurret) {
+                    break;
+                case PlaceableRegistry.BOMB_TURRET:
                     world.spice += (bombturretCost/2);
-                } else {
+                    break;
+                case PlaceableRegistry.GUN_TURRET:
                     world.spice += (gunturretCost/2);
-                }
+                    break;
             }
         }
     }
@@ -207,32 +201,19 @@ public class BuyingHandler {
             sceneExists = true;
         }
 
-        //check if field is manned
-        if (!world.getMannedTiles()[Math.round(mousePosition.x)][Math.round(mousePosition.z)]) {
-
-            //set field manned
-            world.setManned(Math.round(mousePosition.x), Math.round(mousePosition.z));
+        int tileX = Math.round(mousePosition.x);
+        int tileY = Math.round(mousePosition.z);
 
-            //get path
-            ArrayList<Point> path = world.getPath();
+        //check if field is manned and if there would still be a path between the portals
+        if (!world.isManned(tileX, tileY) && !world.isPortal(tileX, tileY)
+                && !world.getPlacementAnalysis().isDisconnecting(tileX, tileY)) {
 
-            //if path not empty move Scene to position
-            if (!path.isEmpty()) {
+            //round x and y value to get the middle of the tile
+            position.x = tileX;
+            position.z = tileY;
 
-                //round x and y value to get the middle of the tile
-                position.x = Math.round(mousePosition.x);
-                position.z = Math.round(mousePosition.z);
-
-                placeableScene.modelInstance.transform.setToTranslation(position).scl(scaling);
-                checkBuy();
-            } else {
-                removeScene();
-                turretBought = false;
-            }
-
-            if (!turretBought) {
-                world.setUnmanned(Math.round(mousePosition.x), Math.round(mousePosition.z));
-            }
+            placeableScene.modelInstance.transform.setToTranslation(position).scl(scaling);
+            checkBuy();
 
         } else {
             removeScene();
@@ -262,7 +243,7 @@ public class BuyingHandler {
                     break;
                 case 2:
                     if (world.spice >= gunturretCost) {
-                        world.addGunTurret((int) position.x, (int) position.z);
+                        world.addGunTurret((int) position.x, (int) position.z, screen.getTargeting());
                         world.spice -= gunturretCost;
                         turretBought = true;
 
@@ -273,7 +254,7 @@ public class BuyingHandler {
                     break;
                 case 3:
                     if (world.spice >= bombturretCost) {
-                        world.addBombTurret((int)position.x, (int)position.z);
+                        world.addBombTurret((int)position.x, (int)position.z, screen.getTargeting());
                         world.spice -= bombturretCost;
                         turretBought = true;
 
@@ -344,8 +325,7 @@ public class BuyingHandler {
         int posX = (Math.round(mousePosition.x));
         int posY = (Math.round(mousePosition.z));
 
-        if (!(posX == world.startPoint.x && posY == world.startPoint.y)
-                && !(posX == world.endPoint.x && posY == world.endPoint.y)) {
+        if (!world.isPortal(posX, posY)) {
 
             if (world.thumpers.size() == 0) {
 
@@ -54,7 +54,7 @@ public class PhaseHandler {
     }
 
     /**
-     * This method starts the building phase.
+     * This method starts the building phase, in which the scenes of the enemies of the next wave are created.
      *
      * @author Mattis Bühler
      */
@@ -62,5 +62,6 @@ public class PhaseHandler {
         startBuilding = true;
         startTime = TimeUtils.millis();
         countdown = 0;
+        screen.waveHandler.prepareWave();
     }
 }
@@ -43,6 +43,9 @@ public class WaveHandler {
     private long harvesterTime;
     private long bossunitTime;
 
+    //startportal of the next enemy
+    private int nextPortal;
+
     /**
      * Constructor of the WaveHandler.
      * @param screen GameScreen in which the WaveHandler exists.
@@ -70,20 +73,20 @@ public class WaveHandler {
 
             if (infantryMax > infantryNumber && TimeUtils.timeSinceMillis(infantryTime) >= delayInfantry) {
                 delayInfantry = (int)(0.5f*1000);
-                world.addInfantry();
+                world.addInfantry(nextPortal());
                 infantryNumber++;
                 infantryTime = TimeUtils.millis();
             }
 
             if (harvesterMax > harvesterNumber && TimeUtils.timeSinceMillis(harvesterTime) >= delayHarvester) {
                 delayHarvester = (int) (1.5 * 1000);
-                world.addHarvester();
+                world.addHarvester(nextPortal());
                 harvesterNumber++;
                 harvesterTime = TimeUtils.millis();
             }
 
             if (bossunitMax > bossunitNumber && TimeUtils.timeSinceMillis(bossunitTime) >= delayBossunit) {
-                world.addBossUnit();
+                world.addBossUnit(nextPortal());
                 bossunitNumber++;
                 bossunitTime = TimeUtils.millis();
             }
@@ -101,6 +104,17 @@ public class WaveHandler {
 
     }
 
+    /**
+     * Returns the startportal of the next enemy, the enemies are spread over all startportals in turn.
+     *
+     * @return the number of the startportal.
+     */
+    private int nextPortal() {
+        int portal = nextPortal;
+        nextPortal = (nextPortal + 1) % world.startPoints.length;
+        return portal;
+    }
+
     /**
      * Sets up the values for the waves, with the size of the playing field and the number of the wave, the number
      * of enemies increases.
@@ -112,9 +126,9 @@ public class WaveHandler {
         harvesterNumber = 0;
         bossunitNumber = 0;
 
-        infantryMax = 10 + 6 * (currentWave/2) * MainMenuScreen.height.get()/3 * MainMenuScreen.width.get()/3;
-        harvesterMax = 4 + 2 * (currentWave/2) * MainMenuScreen.height.get()/3 * MainMenuScreen.width.get()/3;
-        bossunitMax = 1 + (currentWave/2) * MainMenuScreen.height.get()/3 * MainMenuScreen.width.get()/3;
+        infantryMax = getInfantryMax(currentWave);
+        harvesterMax = getHarvesterMax(currentWave);
+        bossunitMax = getBossunitMax(currentWave);
 
         delayInfantry = 0;
         delayHarvester = 0;
@@ -127,4 +141,46 @@ public class WaveHandler {
         waveFinished = false;
         currentWave++;
     }
+
+    /**
+     * Creates the scenes of the enemies of the next wave in the building phase before it, so the enemies do not create
+     * them while they spawn.
+     */
+    public void prepareWave() {
+        world.prepareEnemyModels(getInfantryMax(currentWave), getHarvesterMax(currentWave),
+                getBossunitMax(currentWave));
+    }
+
+    /**
+     * Returns the number of infantries of a wave.
+     *
+     * @param wave the number of waves before the wave.
+     *
+     * @return the number of infantries.
+     */
+    private int getInfantryMax(int wave) {
+        return 10 + 6 * (wave/2) * MainMenuScreen.height.get()/3 * MainMenuScreen.width.get()/3;
+    }
+
+    /**
+     * Returns the number of harvesters of a wave.
+     *
+     * @param wave the number of waves before the wave.
+     *
+     * @return the number of harvesters.
+     */
+    private int getHarvesterMax(int wave) {
+        return 4 + 2 * (wave/2) * MainMenuScreen.height.get()/3 * MainMenuScreen.width.get()/3;
+    }
+
+    /**
+     * Returns the number of bossUnits of a wave.
+     *
+     * @param wave the number of waves before the wave.
+     *
+     * @return the number of bossUnits.
+     */
+    private int getBossunitMax(int wave) {
+        return 1 + (wave/2) * MainMenuScreen.height.get()/3 * MainMenuScreen.width.get()/3;
+    }
 }
@@ -0,0 +1,163 @@
+package io.swapastack.dunetd.world.placeable;
+
+import io.swapastack.dunetd.world.placeable.turret.AbstractTurret;
+
+import java.util.ArrayList;
+
+/**
+ * The PlaceableRegistry class.
+ * Holds all turrets of a world by the tile they stand on. Every tile stores the handle of its turret and the type of
+ * the turret, so a turret is found, removed or priced in constant time, and the tiles below the ShaiHulud are checked
+ * without looking at the other turrets. The turrets themselves are kept in a dense list for updating, a removed turret
+ * is replaced by the last one.
+ *
+ * @author Mattis Bühler
+ */
+public class PlaceableRegistry {
+    //Types of the turrets, the same numbers as the buttons to buy them
+    public static final byte NONE = 0;
+    public static final byte SOUND_TURRET = 1;
+    public static final byte GUN_TURRET = 2;
+    public static final byte BOMB_TURRET = 3;
+
+    //Field dimension
+    private final int rows;
+    private final int cols;
+
+    //Position in the dense list plus one of the turret on every tile, 0 for free tiles, and its type
+    private final int[] handles;
+    private final byte[] types;
+
+    //Dense list of all turrets
+    private final ArrayList<AbstractTurret> turrets = new ArrayList<>();
+
+    //Counts every added or removed turret, so indices over the turrets know when they are outdated
+    private int version;
+
+    /**
+     * The constructor of the PlaceableRegistry class, creates a registry without turrets.
+     *
+     * @param rows the rows of the field.
+     * @param cols the cols of the field.
+     */
+    public PlaceableRegistry(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        handles = new int[rows * cols];
+        types = new byte[rows * cols];
+    }
+
+    /**
+     * Adds a turret on the tile of its position, a turret on the same tile is replaced.
+     *
+     * @param turret the turret to add.
+     * @param type the type of the turret.
+     */
+    public void add(AbstractTurret turret, byte type) {
+        int index = turret.position.y * cols + turret.position.x;
+        if (handles[index] != 0) {
+            remove(turret.position.x, turret.position.y);
+        }
+        turrets.add(turret);
+        handles[index] = turrets.size();
+        types[index] = type;
+        version++;
+    }
+
+    /**
+     * Returns the turret on a tile.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return the turret or null, if there is no turret on the tile.
+     */
+    public AbstractTurret get(int xCoord, int yCoord) {
+        int handle = handles[yCoord * cols + xCoord];
+        return handle == 0 ? null : turrets.get(handle - 1);
+    }
+
+    /**
+     * Returns the type of the turret on a tile.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return the type of the turret or NONE, if there is no turret on the tile.
+     */
+    public byte getType(int xCoord, int yCoord) {
+        return types[yCoord * cols + xCoord];
+    }
+
+    /**
+     * Removes the turret on a tile, the last turret of the dense list takes its place.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return the removed turret or null, if there was no turret on the tile.
+     *
+     * @author Mattis Bühler
+     */
+    public AbstractTurret remove(int xCoord, int yCoord) {
+        int index = yCoord * cols + xCoord;
+        int handle = handles[index];
+        if (handle == 0) {
+            return null;
+        }
+        handles[index] = 0;
+        types[index] = NONE;
+        version++;
+
+        AbstractTurret turret = turrets.get(handle - 1);
+        AbstractTurret last = turrets.remove(turrets.size() - 1);
+        if (last != turret) {
+            turrets.set(handle - 1, last);
+            handles[last.position.y * cols + last.position.x] = handle;
+        }
+        return turret;
+    }
+
+    /**
+     * Adds all turrets to the result, whose tiles lie inside of the given rectangle, borders included. Only the tiles
+     * inside of the rectangle are checked, for example a part of a row or a column.
+     *
+     * @param minX the smallest x coordinate of the rectangle.
+     * @param minY the smallest y coordinate of the rectangle.
+     * @param maxX the biggest x coordinate of the rectangle.
+     * @param maxY the biggest y coordinate of the rectangle.
+     * @param result the list, the turrets inside are added to.
+     */
+    public void getTurretsInRectangle(float minX, float minY, float maxX, float maxY, ArrayList<AbstractTurret> result) {
+        int fromX = Math.max((int) Math.ceil(minX), 0);
+        int toX = Math.min((int) Math.floor(maxX), cols - 1);
+        int fromY = Math.max((int) Math.ceil(minY), 0);
+        int toY = Math.min((int) Math.floor(maxY), rows - 1);
+        for (int y = fromY; y <= toY; y++) {
+            for (int x = fromX; x <= toX; x++) {
+                int handle = handles[y * cols + x];
+                if (handle != 0) {
+                    result.add(turrets.get(handle - 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the dense list of all turrets, which must not be changed.
+     *
+     * @return the list of all turrets.
+     */
+    public ArrayList<AbstractTurret> getTurrets() {
+        return turrets;
+    }
+
+    /**
+     * Returns the version of the registry, which changes every time a turret is added or removed.
+     *
+     * @return the version of the registry.
+     */
+    public int getVersion() {
+        return version;
+    }
+}
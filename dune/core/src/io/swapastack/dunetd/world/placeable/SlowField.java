@@ -0,0 +1,103 @@
+package io.swapastack.dunetd.world.placeable;
+
+import io.swapastack.dunetd.world.placeable.turret.AbstractTurret;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The SlowField class.
+ * Holds the speed multiplier of every tile, which is caused by the auras of the sound turrets. Sound turrets never
+ * move, so the multipliers are rebuilt only when a turret is added or removed, and an enemy just reads the multiplier
+ * of the tile it stands on. The auras of several sound turrets stack up to a given number, each one multiplies the
+ * speed again, so the result does not depend on the order of the turrets or the enemies.
+ *
+ * @author Mattis Bühler
+ */
+public class SlowField {
+    //Field dimension
+    private final int rows;
+    private final int cols;
+
+    //Sound turrets of the registry and the version of the registry the field was built for
+    private final PlaceableRegistry placeables;
+    private int builtVersion = -1;
+
+    //Speed multiplier of a single aura and the number of auras, which stack at most
+    private final float slowFactor;
+    private final int maxStacks;
+
+    //Number of auras on every tile and the resulting speed multiplier
+    private final int[] auras;
+    private final float[] factors;
+
+    /**
+     * The constructor of the SlowField class, creates a field without auras.
+     *
+     * @param rows the rows of the field.
+     * @param cols the cols of the field.
+     * @param placeables the registry with the sound turrets.
+     * @param slowPercentage the percentage, a single aura slows an enemy down.
+     * @param maxStacks the number of auras, which stack at most, at least 1.
+     */
+    public SlowField(int rows, int cols, PlaceableRegistry placeables, int slowPercentage, int maxStacks) {
+        this.rows = rows;
+        this.cols = cols;
+        this.placeables = placeables;
+        slowFactor = 1 - 0.01f * slowPercentage;
+        this.maxStacks = Math.max(maxStacks, 1);
+        auras = new int[rows * cols];
+        factors = new float[rows * cols];
+        Arrays.fill(factors, 1);
+    }
+
+    /**
+     * Rebuilds the multipliers, if turrets were added or removed since they were built. An aura reaches every tile,
+     * whose center lies in the range of the sound turret.
+     *
+     * @author Mattis Bühler
+     */
+    public void refresh() {
+        if (builtVersion == placeables.getVersion()) {
+            return;
+        }
+        builtVersion = placeables.getVersion();
+
+        Arrays.fill(auras, 0);
+        ArrayList<AbstractTurret> turrets = placeables.getTurrets();
+        for (int i = 0; i<turrets.size(); i++) {
+            AbstractTurret turret = turrets.get(i);
+            if (placeables.getType(turret.position.x, turret.position.y) != PlaceableRegistry.SOUND_TURRET) {
+                continue;
+            }
+            int reach = (int) turret.radius;
+            for (int y = Math.max(turret.position.y - reach, 0); y <= Math.min(turret.position.y + reach, rows - 1); y++) {
+                for (int x = Math.max(turret.position.x - reach, 0); x <= Math.min(turret.position.x + reach, cols - 1); x++) {
+                    int xDistance = x - turret.position.x;
+                    int yDistance = y - turret.position.y;
+                    if (xDistance * xDistance + yDistance * yDistance <= turret.radius * turret.radius) {
+                        auras[y * cols + x]++;
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i<auras.length; i++) {
+            factors[i] = (float) Math.pow(slowFactor, Math.min(auras[i], maxStacks));
+        }
+    }
+
+    /**
+     * Returns the speed multiplier of the tile, a point lies on.
+     *
+     * @param xPos the x coordinate of the point.
+     * @param yPos the y coordinate of the point.
+     *
+     * @return the multiplier, 1 if no aura reaches the tile.
+     */
+    public float getFactor(float xPos, float yPos) {
+        int x = Math.min(Math.max(Math.round(xPos), 0), cols - 1);
+        int y = Math.min(Math.max(Math.round(yPos), 0), rows - 1);
+        return factors[y * cols + x];
+    }
+}
@@ -0,0 +1,193 @@
+package io.swapastack.dunetd.world.placeable;
+
+import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
+import io.swapastack.dunetd.world.placeable.turret.AbstractTurret;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The TurretCoverage class.
+ * Turrets never move, so for every tile of the field it is known in advance which turrets can reach an enemy on it.
+ * The covering turrets of all tiles are stored one after another, tile by tile, and rebuilt only when a turret is
+ * added or removed. Every frame each enemy registers with the turrets covering its tile, so a turret knows the enemies
+ * near it without searching, and tiles without any covering turret are the undefended parts of the paths.
+ *
+ * @author Mattis Bühler
+ */
+public class TurretCoverage {
+    //Field dimension
+    private final int rows;
+    private final int cols;
+
+    //Turrets of the registry and the version of the registry the index was built for
+    private final PlaceableRegistry placeables;
+    private int builtVersion = -1;
+
+    //The turrets covering the tile i are coverTurrets[coverStart[i]] to coverTurrets[coverStart[i + 1] - 1]
+    private final int[] coverStart;
+    private AbstractTurret[] coverTurrets = new AbstractTurret[0];
+
+    /**
+     * The constructor of the TurretCoverage class.
+     *
+     * @param rows the rows of the field.
+     * @param cols the cols of the field.
+     * @param placeables the registry with the turrets, which cover the tiles.
+     */
+    public TurretCoverage(int rows, int cols, PlaceableRegistry placeables) {
+        this.rows = rows;
+        this.cols = cols;
+        this.placeables = placeables;
+        coverStart = new int[rows * cols + 1];
+    }
+
+    /**
+     * Rebuilds the index, if turrets were added or removed since it was built. A turret covers a tile, if its range
+     * reaches any point of the tile, because every enemy rounded to the tile stands somewhere on it. The covering
+     * turrets are counted per tile first, so the index is filled without growing lists.
+     *
+     * @author Mattis Bühler
+     */
+    public void refresh() {
+        if (builtVersion == placeables.getVersion()) {
+            return;
+        }
+        builtVersion = placeables.getVersion();
+        ArrayList<AbstractTurret> turrets = placeables.getTurrets();
+
+        //count the covering turrets of every tile, shifted by one for the prefix sums
+        Arrays.fill(coverStart, 0);
+        for (int i = 0; i<turrets.size(); i++) {
+            AbstractTurret turret = turrets.get(i);
+            for (int y = fromY(turret); y <= toY(turret); y++) {
+                for (int x = fromX(turret); x <= toX(turret); x++) {
+                    if (covers(turret, x, y)) {
+                        coverStart[y * cols + x + 1]++;
+                    }
+                }
+            }
+        }
+        for (int i = 1; i<coverStart.length; i++) {
+            coverStart[i] += coverStart[i - 1];
+        }
+
+        //fill the turrets in, the start of every tile is moved along while filling and restored afterwards
+        if (coverTurrets.length < coverStart[coverStart.length - 1]) {
+            coverTurrets = new AbstractTurret[coverStart[coverStart.length - 1]];
+        }
+        for (int i = 0; i<turrets.size(); i++) {
+            AbstractTurret turret = turrets.get(i);
+            for (int y = fromY(turret); y <= toY(turret); y++) {
+                for (int x = fromX(turret); x <= toX(turret); x++) {
+                    if (covers(turret, x, y)) {
+                        coverTurrets[coverStart[y * cols + x]++] = turret;
+                    }
+                }
+            }
+        }
+        for (int i = coverStart.length - 1; i > 0; i--) {
+            coverStart[i] = coverStart[i - 1];
+        }
+        coverStart[0] = 0;
+    }
+
+    /**
+     * Registers every enemy with the turrets covering its tile, after clearing the enemies of all turrets. The enemies
+     * are registered in the given order, so every turret gets its enemies in the same order.
+     *
+     * @param enemies the enemies of the world.
+     *
+     * @author Mattis Bühler
+     */
+    public void register(ArrayList<GameObjectEnemy> enemies) {
+        refresh();
+        ArrayList<AbstractTurret> turrets = placeables.getTurrets();
+        for (int i = 0; i<turrets.size(); i++) {
+            turrets.get(i).getCoveredEnemies().clear();
+        }
+
+        for (int i = 0; i<enemies.size(); i++) {
+            GameObjectEnemy enemy = enemies.get(i);
+            int x = Math.min(Math.max(Math.round(enemy.getX()), 0), cols - 1);
+            int y = Math.min(Math.max(Math.round(enemy.getZ()), 0), rows - 1);
+            int tile = y * cols + x;
+            for (int k = coverStart[tile]; k<coverStart[tile + 1]; k++) {
+                coverTurrets[k].getCoveredEnemies().add(enemy);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of turrets covering a tile.
+     *
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return the number of covering turrets, 0 if the tile is undefended.
+     */
+    public int getCoverCount(int xCoord, int yCoord) {
+        refresh();
+        int tile = yCoord * cols + xCoord;
+        return coverStart[tile + 1] - coverStart[tile];
+    }
+
+    /**
+     * Checks if the range of a turret reaches any point of a tile, the tile reaches half a tile around its center.
+     *
+     * @param turret the turret.
+     * @param xCoord the x coordinate of the tile.
+     * @param yCoord the y coordinate of the tile.
+     *
+     * @return if the turret covers the tile.
+     */
+    private static boolean covers(AbstractTurret turret, int xCoord, int yCoord) {
+        float xDistance = Math.max(Math.abs(xCoord - turret.position.x) - 0.5f, 0);
+        float yDistance = Math.max(Math.abs(yCoord - turret.position.y) - 0.5f, 0);
+        return xDistance * xDistance + yDistance * yDistance <= turret.radius * turret.radius;
+    }
+
+    /**
+     * Returns the smallest x coordinate of a tile, the turret could cover.
+     *
+     * @param turret the turret.
+     *
+     * @return the x coordinate, at least 0.
+     */
+    private int fromX(AbstractTurret turret) {
+        return Math.max((int) Math.floor(turret.position.x - turret.radius - 0.5f), 0);
+    }
+
+    /**
+     * Returns the biggest x coordinate of a tile, the turret could cover.
+     *
+     * @param turret the turret.
+     *
+     * @return the x coordinate, at most the last column.
+     */
+    private int toX(AbstractTurret turret) {
+        return Math.min((int) Math.ceil(turret.position.x + turret.radius + 0.5f), cols - 1);
+    }
+
+    /**
+     * Returns the smallest y coordinate of a tile, the turret could cover.
+     *
+     * @param turret the turret.
+     *
+     * @return the y coordinate, at least 0.
+     */
+    private int fromY(AbstractTurret turret) {
+        return Math.max((int) Math.floor(turret.position.y - turret.radius - 0.5f), 0);
+    }
+
+    /**
+     * Returns the biggest y coordinate of a tile, the turret could cover.
+     *
+     * @param turret the turret.
+     *
+     * @return the y coordinate, at most the last row.
+     */
+    private int toY(AbstractTurret turret) {
+        return Math.min((int) Math.ceil(turret.position.y + turret.radius + 0.5f), rows - 1);
+    }
+}
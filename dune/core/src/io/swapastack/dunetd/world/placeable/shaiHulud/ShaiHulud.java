@@ -31,6 +31,10 @@ public class ShaiHulud {
     private int rotation;
     private float speed;
 
+    //Size of the ShaiHulud
+    private static final float LENGTH = 6.6f;
+    private static final float WIDTH = 1f;
+
     //Scene
     private Scene shaiHuludScene;
     public boolean destroyMe;
@@ -162,37 +166,21 @@ public class ShaiHulud {
      * @author Mattis Bühler
      */
     private void checkIntersection() {
-        ArrayList<GameObjectEnemy> enemies = world.getEnemies();
-        ArrayList<AbstractTurret> turrets = world.getTurrets();
         ArrayList<Thumper> thumpers = world.getThumpers();
 
-        enemiesInRange.clear();
-        turretsInRange.clear();
         thumpersInRange.clear();
 
-        for (GameObjectEnemy enemy : enemies) {
-
-            if (rotation == 0 || rotation == 180) {
-                if (isIntersecting(position.x, position.z, enemy.position.x, enemy.position.z)) {
-                    enemiesInRange.add(enemy);
-                }
-            } else {
-                if (isIntersecting(position.z, position.x, enemy.position.z, enemy.position.x)) {
-                    enemiesInRange.add(enemy);
-                }
-            }
-        }
-
-        for (AbstractTurret turret : turrets) {
-            if (rotation == 0 || rotation == 180) {
-                if (isIntersecting(position.x, position.z, turret.position.x, turret.position.y)) {
-                    turretsInRange.add(turret);
-                }
-            } else {
-                if (isIntersecting(position.z, position.x, turret.position.y, turret.position.x)) {
-                    turretsInRange.add(turret);
-                }
-            }
+        //only the enemies and turrets on the tiles below the ShaiHulud are checked
+        if (rotation == 0 || rotation == 180) {
+            world.getEnemiesInRectangle(position.x - LENGTH/2, position.z - WIDTH/2, position.x + LENGTH/2,
+                    position.z + WIDTH/2, enemiesInRange);
+            world.getTurretsInRectangle(position.x - LENGTH/2, position.z - WIDTH/2, position.x + LENGTH/2,
+                    position.z + WIDTH/2, turretsInRange);
+        } else {
+            world.getEnemiesInRectangle(position.x - WIDTH/2, position.z - LENGTH/2, position.x + WIDTH/2,
+                    position.z + LENGTH/2, enemiesInRange);
+            world.getTurretsInRectangle(position.x - WIDTH/2, position.z - LENGTH/2, position.x + WIDTH/2,
+                    position.z + LENGTH/2, turretsInRange);
         }
 
         for (Thumper thumper : thumpers) {
@@ -208,7 +196,7 @@ public class ShaiHulud {
         }
 
         for (GameObjectEnemy enemy : enemiesInRange) {
-            enemy.lifePoints = 0;
+            enemy.setLifePoints(0);
         }
 
         for (AbstractTurret turret : turretsInRange) {
@@ -235,10 +223,8 @@ public class ShaiHulud {
      * @return if two objects are intersection, one has to be a ShaiHulud.
      */
     private boolean isIntersecting(float position1, float position2, float ePos1, float ePos2) {
-        //length of shaiHulud (6.6)
-        if (position1-3.3 <= ePos1 && position1+3.3 >= ePos1) {
-            //width of shaiHulud(1)
-            return position2 - 0.5 <= ePos2 && position2 + 0.5 >= ePos2;
+        if (position1 - LENGTH/2 <= ePos1 && position1 + LENGTH/2 >= ePos1) {
+            return position2 - WIDTH/2 <= ePos2 && position2 + WIDTH/2 >= ePos2;
         }
         return false;
     }
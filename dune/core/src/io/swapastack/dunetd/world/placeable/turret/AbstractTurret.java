@@ -22,6 +22,9 @@ public abstract class AbstractTurret extends GameObjectPlaceable {
     //Scene
     public Scene turretScene;
 
+    //Enemies on the tiles covered by the turret, registered by the world every frame in the order of their progress
+    private final ArrayList<GameObjectEnemy> coveredEnemies = new ArrayList<>();
+
     //Destroy
     public boolean destroyMe = false;
     public boolean destroyMeShaiHulud = false;
@@ -67,16 +70,29 @@ public abstract class AbstractTurret extends GameObjectPlaceable {
     }
 
     /**
-     * Returns all enemies that are within its range.
+     * Writes all enemies that are within its range into the given list, which is cleared first. Only the enemies
+     * registered on the tiles covered by the turret are checked.
      *
-     * @param radius the radius which is checked.
-     * @param posX the x-coordinate of the center of the range.
-     * @param posY the y-coordinate of the center of the range.
+     * @param enemies the list, which is filled with the enemies that are within the range of the turret.
+     */
+    public void getEnemiesInRange(ArrayList<GameObjectEnemy> enemies) {
+        enemies.clear();
+        for (int i = 0; i<coveredEnemies.size(); i++) {
+            GameObjectEnemy enemy = coveredEnemies.get(i);
+            if (world.checkInRange(enemy, radius, position.x, position.y)) {
+                enemies.add(enemy);
+            }
+        }
+    }
+
+    /**
+     * Returns the enemies on the tiles covered by the turret, which may be out of range. They are registered by the
+     * world every frame, ordered by their progress.
      *
-     * @return a list of enemies that are within the given range.
+     * @return the covered enemies.
      */
-    public ArrayList<GameObjectEnemy> getEnemiesInRange(float radius, float posX, float posY) {
-        return world.getEnemiesInRange(radius, posX, posY);
+    public ArrayList<GameObjectEnemy> getCoveredEnemies() {
+        return coveredEnemies;
     }
 
 }
@@ -1,6 +1,6 @@
 package io.swapastack.dunetd.world.placeable.turret;
 
-import com.badlogic.gdx.math.Vector3;
+import io.swapastack.dunetd.world.enemies.EnemyVisitor;
 import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
 import io.swapastack.dunetd.world.GameWorld;
 import io.swapastack.dunetd.screens.GameScreen;
@@ -8,7 +8,6 @@ import io.swapastack.dunetd.screens.MainMenuScreen;
 import net.mgsx.gltf.scene3d.scene.Scene;
 
 import java.awt.*;
-import java.util.ArrayList;
 
 /**
  * The Bomb class.
@@ -21,60 +20,86 @@ public class Bomb extends Bullet {
     private final float explosionRadius;
 
     //BombTurret
-    private final BombTurret bombTurret;
+    private BombTurret bombTurret;
+
+    //Called for every enemy in range of the explosion
+    private final EnemyVisitor explosionVisitor = new EnemyVisitor() {
+        @Override
+        public void visit(GameObjectEnemy enemy) {
+            enemy.takeDamage(damage);
+        }
+    };
 
     /**
      * Constructor of the Bomb class.
      * Calls constructor of upper class.
      *
-     * @param enemy the enemy the Bomb will fly towards.
      * @param screen the GameScreen the Bomb exists in.
      * @param world the GameWorld the Bomb exists in.
+     */
+    public Bomb(GameScreen screen, GameWorld world) {
+        super(screen, world);
+        projectileSpeed = 0.001f * MainMenuScreen.bombSpeed.get();
+        damage = MainMenuScreen.bombturretDamage.get();
+        explosionRadius = 1.7f;
+    }
+
+    /**
+     * Creates the scene of the Bomb, which is added to the screen, when the Bomb is fired.
+     *
+     * @return the new scene.
+     */
+    @Override
+    protected Scene createScene() {
+        return new Scene(screen.sceneAssetHashMap.get("bomb_rock/scene.gltf").scene);
+    }
+
+    /**
+     * Fires the Bomb from the given position to an enemy.
+     *
+     * @param enemy the enemy the Bomb will fly towards.
      * @param position the start position of the Bomb.
      * @param rotation the start rotation of the Bomb.
      * @param bombTurret the belonging BombTurret.
      */
-    public Bomb(GameObjectEnemy enemy, GameScreen screen, GameWorld world, Point position, float rotation, BombTurret bombTurret) {
-        super(enemy, screen, world, position, rotation, false);
+    public void fire(GameObjectEnemy enemy, Point position, float rotation, BombTurret bombTurret) {
         this.bombTurret = bombTurret;
-        projectileSpeed = 0.001f * MainMenuScreen.bombSpeed.get();
-        damage = MainMenuScreen.bombturretDamage.get();
-        explosionRadius = 1.7f;
+        fire(enemy, position, rotation);
+    }
 
-        createBombScene();
-        setNormalizedVector();
+    /**
+     * Gives the Bomb back to the pool of the world, after it was removed from the world.
+     */
+    @Override
+    public void free() {
+        world.getBombPool().free(this);
     }
 
     /**
-     * Adds a new Bomb scene with the given values.
+     * Resets the Bomb, when it is given back to its pool, so it can be fired again.
      */
-    private void createBombScene() {
-        projectileScene = new Scene(screen.sceneAssetHashMap.get("bomb_rock/scene.gltf").scene);
-        projectileScene.modelInstance.transform.setToTranslation(position).rotate(new Vector3(0.0f, 1.0f, 0.0f), rotation);
-        screen.addingScene(projectileScene);
+    @Override
+    public void reset() {
+        super.reset();
+        bombTurret = null;
     }
 
     /**
-     * Checks if the Bomb has collided with an enemy in the world.
+     * Is called for the enemy the Bomb collides with, all enemies in range of the explosion around the point of
+     * impact will get damage. Only the damage to the target is pending while the Bomb flies.
+     *
+     * @param enemy the enemy, which was hit.
      *
      * @author Mattis Bühler
      */
     @Override
-    protected void checkCollision() {
-        for (GameObjectEnemy enemy : enemies) {
+    protected void hit(GameObjectEnemy enemy) {
+        bombTurret.addExplosion(enemy);
 
-            if (world.checkInRange(enemy, enemy.radius, position.x, position.z)) {
-                bombTurret.addExplosion(enemy);
+        world.forEachEnemyInRange(explosionRadius, position.x, position.z, explosionVisitor);
 
-                ArrayList<GameObjectEnemy> explodingEnemies = world.getEnemiesInRange(explosionRadius, position.x, position.z);
-
-                for (GameObjectEnemy explodingEnemy : explodingEnemies) {
-                    explodingEnemy.lifePoints -= damage;
-                }
-
-                screen.removingScene(projectileScene);
-                destroyMe = true;
-            }
-        }
+        screen.removingScene(projectileScene);
+        releaseDamage();
+        destroyMe = true;
     }
 }
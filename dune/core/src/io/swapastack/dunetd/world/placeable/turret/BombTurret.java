@@ -1,9 +1,7 @@
 package io.swapastack.dunetd.world.placeable.turret;
 
-import com.badlogic.gdx.graphics.g3d.utils.AnimationController;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.TimeUtils;
-import com.badlogic.gdx.utils.Timer;
 import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
 import io.swapastack.dunetd.world.GameWorld;
 import io.swapastack.dunetd.screens.GameScreen;
@@ -20,11 +18,8 @@ import java.util.ArrayList;
  */
 public class BombTurret extends GunTurret {
 
-    //AnimationControllers
-    private final ArrayList<AnimationController> explosionAnimations = new ArrayList<>();
-
-    //Scene
-    private final ArrayList<Scene> explosionScenes = new ArrayList<>();
+    //Explosions, which are shown at the moment
+    private final ArrayList<Explosion> explosions = new ArrayList<>();
 
     /**
      * Constructor of the BombTurret class.
@@ -41,10 +36,11 @@ public class BombTurret extends GunTurret {
     }
 
     /**
-     * Adds a new BombTurret scene with the given values.
+     * Adds a new BombTurret scene with the given values. A BombTurret aims at the most crowded tile by default.
      */
     public void create() {
         radius = 0.01f * MainMenuScreen.bombturretRadius.get();
+        strategy = TargetingStrategy.MOST_CLUSTERED;
         startTime = TimeUtils.millis();
         scaling = new Vector3(1.5f,1.5f,1.5f);
         delayMS = (1000/MainMenuScreen.bombturretFrequence.get());
@@ -55,7 +51,8 @@ public class BombTurret extends GunTurret {
     }
 
     /**
-     * updates the animationControllers.
+     * updates the animationControllers of the explosions and removes the explosions, which are over. All explosions
+     * are removed, when the BombTurret is destroyed.
      *
      * @param delta the time since the last rendering.
      *
@@ -63,8 +60,10 @@ public class BombTurret extends GunTurret {
      */
     public void update(float delta) {
         super.update(delta);
-        for (AnimationController explosionAnimation : explosionAnimations) {
-            explosionAnimation.update(delta);
+        for (int i = explosions.size() - 1; i >= 0; i--) {
+            if (explosions.get(i).update(delta) || destroyMe) {
+                removeExplosion(i);
+            }
         }
     }
 
@@ -77,80 +76,38 @@ public class BombTurret extends GunTurret {
      */
     @Override
     public void shoot(GameObjectEnemy enemy) {
-        Bomb bomb = new Bomb(enemy, screen, world, position, rotation, this);
+        Bomb bomb = world.getBombPool().obtain();
+        bomb.fire(enemy, position, rotation, this);
         world.addBullet(bomb);
     }
 
     /**
-     * Adds an explosion animation at the position of the enemy
+     * Adds an explosion animation at the position of the enemy. The explosion is taken out of the pool of the world.
+     * A bomb of a destroyed BombTurret shows no explosion, because nobody would remove it.
      *
      * @param enemy the enemy, the explosion will be added at.
      *
      * @author Mattis Bühler
      */
     public void addExplosion(GameObjectEnemy enemy) {
-        Timer timer = new Timer();
-
-        Scene explosionScene = new Scene(screen.sceneAssetHashMap.get("explosion/explosion.glb").scene);
-        Scene explosionScene2 = new Scene(screen.sceneAssetHashMap.get("explosion/explosion.glb").scene);
-        Scene explosionScene3 = new Scene(screen.sceneAssetHashMap.get("explosion/explosion.glb").scene);
-
-        explosionScene.modelInstance.transform.setToTranslation(enemy.position).scl(0.2f);
-        explosionScene2.modelInstance.transform.setToTranslation(enemy.position).scl(0.2f);
-        explosionScene3.modelInstance.transform.setToTranslation(enemy.position).scl(0.2f);
-
-        screen.addingScene(explosionScene);
-        screen.addingScene(explosionScene2);
-        screen.addingScene(explosionScene3);
-
-        AnimationController.AnimationListener acListener = new AnimationController.AnimationListener() {
-            @Override
-            public void onEnd(AnimationController.AnimationDesc animation) {
-            }
-
-            @Override
-            public void onLoop(AnimationController.AnimationDesc animation) {
-            }
-        };
-
-
-        AnimationController acBomb = new AnimationController(explosionScene.modelInstance);
-        acBomb.setAnimation("IcosphereAction", 1, 3f, acListener);
-
-        AnimationController acBomb2 = new AnimationController(explosionScene.modelInstance);
-        acBomb2.setAnimation("Icosphere.001Action", 1, 3f, acListener);
-
-        AnimationController acBomb3 = new AnimationController(explosionScene3.modelInstance);
-        acBomb3.setAnimation("Icosphere.001Action.001", 1, 3f, acListener);
-
-
-        explosionAnimations.add(acBomb);
-        explosionAnimations.add(acBomb2);
-        explosionAnimations.add(acBomb3);
-
-        explosionScenes.add(explosionScene);
-        explosionScenes.add(explosionScene2);
-        explosionScenes.add(explosionScene3);
-
-        timer.scheduleTask(new Timer.Task() {
-            @Override
-            public void run() {
-                removeExplosion();
-                removeExplosion();
-                removeExplosion();
-            }
-        }, 0.3f);
-
+        if (destroyMe) {
+            return;
+        }
+        Explosion explosion = world.getExplosionPool().obtain();
+        explosion.start(enemy.getX(), enemy.getZ());
+        explosions.add(explosion);
     }
 
     /**
-     * Removes all scenes from the SceneManager, also stops loading animations and scene.
+     * Removes an explosion from the screen and gives it back to the pool of the world.
+     *
+     * @param index the index of the explosion.
      *
      * @author Mattis Bühler
      */
-    private void removeExplosion() {
-        explosionAnimations.remove(0);
-        screen.removingScene(explosionScenes.get(0));
-        explosionScenes.remove(0);
+    private void removeExplosion(int index) {
+        Explosion explosion = explosions.remove(index);
+        explosion.remove();
+        world.getExplosionPool().free(explosion);
     }
 }
@@ -1,7 +1,11 @@
 package io.swapastack.dunetd.world.placeable.turret;
 
+import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Pool;
+import io.swapastack.dunetd.world.components.ProjectileComponent;
+import io.swapastack.dunetd.world.enemies.EnemyGrid;
 import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
 import io.swapastack.dunetd.world.GameWorld;
 import io.swapastack.dunetd.screens.GameScreen;
@@ -9,22 +13,23 @@ import io.swapastack.dunetd.screens.MainMenuScreen;
 import net.mgsx.gltf.scene3d.scene.Scene;
 
 import java.awt.*;
-import java.util.ArrayList;
 
 /**
  * The Bullet class:
+ * Bullets are kept in a pool of the world. A bullet, which hit an enemy or left the field, is given back to the pool
+ * and fired again later with its scene and vectors, so shooting creates no garbage.
  *
  * @author Mattis Bühler
  */
-public class Bullet {
+public class Bullet implements Pool.Poolable {
 
     //GameWorld and GameScreen
     protected GameScreen screen;
     protected GameWorld world;
 
     //Direction
-    protected Vector2 enemyPos;
-    protected Vector2 normalVector;
+    protected final Vector2 enemyPos = new Vector2();
+    protected final Vector2 normalVector = new Vector2();
 
     //Position
     public Vector3 position;
@@ -34,40 +39,33 @@ public class Bullet {
     protected float projectileSpeed = 0.001f * MainMenuScreen.bulletSpeed.get();
     protected int damage;
 
+    //Handle of the enemy the bullet flies to, its damage is pending on the enemy until the bullet is removed
+    protected int targetHandle;
+    protected boolean reserved;
+
     //Scene
     protected Scene projectileScene;
-    private Vector3 scale;
+    private final Vector3 scale = new Vector3(0.01f, 0.01f, 0.01f);
 
     //Destroy
     public boolean destroyMe;
 
-    //Enemies
-    protected ArrayList<GameObjectEnemy> enemies = new ArrayList<>();
+    //Entity of the Bullet, which is added to the engine of the world every time the Bullet is fired
+    private final Entity entity = new Entity().add(new ProjectileComponent(this));
 
     /**
      * The Constructor of the Bullet class.
-     * Calls methods to set the direction.
+     * Creates the scene of the Bullet once, it is shown every time the Bullet is fired.
      *
-     * @param enemy the enemy, the Bullet flies to.
      * @param screen the GameScreen the Bullet exists in.
      * @param world the GameWorld the Bullet exists in.
-     * @param position the start position of the Bullet.
-     * @param rotation the rotation of the Bullet.
-     * @param bullet if it is a Bullet.
      */
-    public Bullet(GameObjectEnemy enemy, GameScreen screen, GameWorld world, Point position, float rotation, boolean bullet) {
+    public Bullet(GameScreen screen, GameWorld world) {
         this.screen = screen;
         this.world = world;
-        enemyPos = new Vector2(enemy.getX(), enemy.getZ());
-        this.position = new Vector3(position.x, screen.groundTileDimensions.y+0.3f, position.y);
-        this.rotation = rotation;
+        position = new Vector3();
         damage = MainMenuScreen.gunturretDamage.get();
-        scale = new Vector3(0.01f, 0.01f, 0.01f);
-
-        if (bullet) {
-            createBulletScene();
-        }
-        setNormalizedVector();
+        projectileScene = createScene();
     }
 
     /**
@@ -80,14 +78,101 @@ public class Bullet {
     }
 
     /**
-     * Adds a new Bullet scene at the given values.
+     * Creates the scene of the Bullet, which is added to the screen, when the Bullet is fired.
+     *
+     * @return the new scene.
+     */
+    protected Scene createScene() {
+        return new Scene(screen.sceneAssetHashMap.get("red_shot/scene.gltf").scene);
+    }
+
+    /**
+     * Fires the Bullet from the given position to an enemy. Sets the direction, the transform of the scene and adds
+     * the scene to the screen.
+     *
+     * @param enemy the enemy, the Bullet flies to.
+     * @param position the start position of the Bullet.
+     * @param rotation the rotation of the Bullet.
      */
-    private void createBulletScene() {
-        projectileScene = new Scene(screen.sceneAssetHashMap.get("red_shot/scene.gltf").scene);
-        projectileScene.modelInstance.transform.setToTranslation(position).rotate(new Vector3(0.0f, 1.0f, 0.0f), rotation).scl(scale)
-                .rotate(new Vector3(0f, 1.0f, 0f), rotation-90f);
+    public void fire(GameObjectEnemy enemy, Point position, float rotation) {
+        targetHandle = enemy.getHandle();
+        enemyPos.set(enemy.getX(), enemy.getZ());
+        this.position.set(position.x, screen.groundTileDimensions.y+0.3f, position.y);
+        this.rotation = rotation;
+        setNormalizedVector();
+
+        projectileScene.modelInstance.transform.setToTranslation(this.position).scl(scale)
+                .rotate(Vector3.Y, rotation-90f);
         screen.addingScene(projectileScene);
+        reserveDamage();
+    }
 
+    /**
+     * Returns the entity of the Bullet, which is the same every time it is fired.
+     *
+     * @return the entity of the Bullet.
+     */
+    public Entity getEntity() {
+        return entity;
+    }
+
+    /**
+     * Gives the Bullet back to the pool of the world, after it was removed from the world.
+     */
+    public void free() {
+        world.getBulletPool().free(this);
+    }
+
+    /**
+     * Resets the Bullet, when it is given back to its pool, so it can be fired again.
+     */
+    @Override
+    public void reset() {
+        destroyMe = false;
+        reserved = false;
+        targetHandle = 0;
+    }
+
+    /**
+     * Adds the damage of the bullet to the pending damage of its target, so turrets stop shooting at an enemy, which
+     * the bullets in flight will kill.
+     */
+    protected void reserveDamage() {
+        GameObjectEnemy target = world.getEnemyStore().get(targetHandle);
+        if (target != null) {
+            target.addPendingDamage(damage);
+            reserved = true;
+        }
+    }
+
+    /**
+     * Removes the damage of the bullet from the pending damage of its target, when the bullet is removed, no matter
+     * which enemy it hit. A target, which was removed from the world meanwhile, is not found by its handle anymore.
+     */
+    protected void releaseDamage() {
+        if (reserved) {
+            GameObjectEnemy target = world.getEnemyStore().get(targetHandle);
+            if (target != null) {
+                target.addPendingDamage(-damage);
+            }
+            reserved = false;
+        }
+    }
+
+    /**
+     * Removes the pending damage from the target, as soon as the bullet flew past it. The bullet only flies forward,
+     * so a target, which lies behind the bullet along its direction, can not be hit anymore and turrets may shoot at it
+     * again, while the missed bullet is still on its way out of the field.
+     */
+    protected void releaseIfPassed() {
+        if (!reserved || destroyMe) {
+            return;
+        }
+        GameObjectEnemy target = world.getEnemyStore().get(targetHandle);
+        if (target == null || (target.getX() - position.x) * normalVector.x
+                + (target.getZ() - position.z) * normalVector.y < -target.radius) {
+            releaseDamage();
+        }
     }
 
     /**
@@ -99,47 +184,65 @@ public class Bullet {
     protected void setNormalizedVector() {
         //pythagoras theorem
         float length = (float) Math.sqrt(Math.pow((enemyPos.x-position.x), 2)+Math.pow((enemyPos.y-position.z), 2));
-        normalVector = new Vector2(((enemyPos.x-position.x)/length), ((enemyPos.y-position.z)/length));
+        normalVector.set(((enemyPos.x-position.x)/length), ((enemyPos.y-position.z)/length));
     }
 
     /**
      * This method updates everytime the render method of its GameScreen is called.
      * Moves the Bullet in the direction of the normalizedVector with a constant speed.
-     * Removes the Bullet if it collides with en enemy.
+     * Removes the Bullet if it collides with en enemy on its way.
      *
      * @author Mattis Bühler
      */
     public void update() {
+        float fromX = position.x;
+        float fromZ = position.z;
         position.x += normalVector.x * projectileSpeed;
         position.z += normalVector.y * projectileSpeed;
 
-        projectileScene.modelInstance.transform.setToTranslation(position).scl(scale)
-                .rotate(new Vector3(0f, 1.0f, 0f), rotation-90f);
+        checkCollision(fromX, fromZ);
+        releaseIfPassed();
 
-        enemies = world.getEnemies();
-        checkCollision();
+        projectileScene.modelInstance.transform.setToTranslation(position).scl(scale)
+                .rotate(Vector3.Y, rotation-90f);
 
         //remove bullet, if out of map
         if (position.x > world.cols + 20 || position.x < -20 || position.z > world.rows + 20 || position.z < -20) {
             screen.removingScene(projectileScene);
+            releaseDamage();
             destroyMe = true;
         }
 
     }
 
     /**
-     * Checks if the collides with an enemy on the field, if so the enemy will get damage.
+     * Checks if the bullet collided with an enemy on its way since the last frame, only the enemies near the way are
+     * checked. The bullet stops at the first enemy it hits.
+     *
+     * @param fromX the x coordinate of the bullet in the last frame.
+     * @param fromZ the z coordinate of the bullet in the last frame.
      *
      * @author Mattis Bühler
      */
-    protected void checkCollision() {
-        for (GameObjectEnemy enemy : enemies) {
-
-            if (world.checkInRange(enemy, enemy.radius, position.x, position.z)) {
-                screen.removingScene(projectileScene);
-                destroyMe = true;
-                enemy.lifePoints -= damage;
-            }
+    protected void checkCollision(float fromX, float fromZ) {
+        GameObjectEnemy enemy = world.findFirstEnemyHit(fromX, fromZ, position.x, position.z);
+        if (enemy != null) {
+            float time = EnemyGrid.getHitTime(enemy, fromX, fromZ, position.x, position.z);
+            position.x = fromX + (position.x - fromX) * time;
+            position.z = fromZ + (position.z - fromZ) * time;
+            hit(enemy);
         }
     }
+
+    /**
+     * Is called for the enemy the bullet collides with, the enemy will get damage and the bullet is removed.
+     *
+     * @param enemy the enemy, which was hit.
+     */
+    protected void hit(GameObjectEnemy enemy) {
+        screen.removingScene(projectileScene);
+        releaseDamage();
+        destroyMe = true;
+        enemy.takeDamage(damage);
+    }
 }
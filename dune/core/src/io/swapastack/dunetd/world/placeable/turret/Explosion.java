@@ -0,0 +1,91 @@
+package io.swapastack.dunetd.world.placeable.turret;
+
+import com.badlogic.gdx.graphics.g3d.utils.AnimationController;
+import com.badlogic.gdx.utils.Pool;
+import io.swapastack.dunetd.screens.GameScreen;
+import net.mgsx.gltf.scene3d.scene.Scene;
+
+/**
+ * The Explosion class.
+ * The explosion of a bomb, made of three scenes with one animation each. Explosions are kept in a pool of the world,
+ * so the scenes and animationControllers are created once and only moved and restarted for the next explosion.
+ *
+ * @author Mattis Bühler
+ */
+public class Explosion implements Pool.Poolable {
+
+    //Animations of the scenes and the time in seconds an explosion is shown
+    private static final String[] ANIMATIONS = {"IcosphereAction", "Icosphere.001Action", "Icosphere.001Action.001"};
+    private static final float DURATION = 0.3f;
+
+    //GameScreen
+    private final GameScreen screen;
+
+    //Scenes and their animationControllers
+    private final Scene[] scenes = new Scene[ANIMATIONS.length];
+    private final AnimationController[] controllers = new AnimationController[ANIMATIONS.length];
+
+    //Time since the explosion started
+    private float time;
+
+    /**
+     * Constructor of the Explosion class.
+     * Creates the scenes and their animationControllers.
+     *
+     * @param screen the GameScreen the Explosion is shown in.
+     */
+    public Explosion(GameScreen screen) {
+        this.screen = screen;
+        for (int i = 0; i<ANIMATIONS.length; i++) {
+            scenes[i] = new Scene(screen.sceneAssetHashMap.get("explosion/explosion.glb").scene);
+            controllers[i] = new AnimationController(scenes[i].modelInstance);
+        }
+    }
+
+    /**
+     * Shows the explosion at the given position and starts its animations from the beginning.
+     *
+     * @param xPos the x coordinate of the explosion.
+     * @param zPos the z coordinate of the explosion.
+     */
+    public void start(float xPos, float zPos) {
+        for (int i = 0; i<scenes.length; i++) {
+            scenes[i].modelInstance.transform.setToTranslation(xPos, screen.groundTileDimensions.y, zPos).scl(0.2f);
+            controllers[i].setAnimation(ANIMATIONS[i], 1, 3f, null);
+            screen.addingScene(scenes[i]);
+        }
+        time = 0;
+    }
+
+    /**
+     * Updates the animations of the explosion.
+     *
+     * @param delta the time since the last rendering.
+     *
+     * @return if the explosion is over and can be removed.
+     */
+    public boolean update(float delta) {
+        for (int i = 0; i<controllers.length; i++) {
+            controllers[i].update(delta);
+        }
+        time += delta;
+        return time >= DURATION;
+    }
+
+    /**
+     * Removes the scenes of the explosion from the screen.
+     */
+    public void remove() {
+        for (int i = 0; i<scenes.length; i++) {
+            screen.removingScene(scenes[i]);
+        }
+    }
+
+    /**
+     * Resets the Explosion, when it is given back to its pool.
+     */
+    @Override
+    public void reset() {
+        time = 0;
+    }
+}
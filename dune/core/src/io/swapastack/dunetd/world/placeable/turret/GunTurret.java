@@ -9,7 +9,6 @@ import io.swapastack.dunetd.screens.MainMenuScreen;
 import net.mgsx.gltf.scene3d.scene.Scene;
 
 import java.awt.*;
-import java.util.ArrayList;
 
 /**
  * The GunTurret class.
@@ -19,9 +18,13 @@ import java.util.ArrayList;
 public class GunTurret extends AbstractTurret {
 
     //Enemies
-    protected ArrayList<GameObjectEnemy> enemies;
     protected GameObjectEnemy fastestEnemy;
 
+    //Target lock, the target is kept until it dies, leaves the range or the interval is over
+    protected TargetingStrategy strategy = TargetingStrategy.FIRST;
+    protected final long retargetMS = MainMenuScreen.retargetInterval.get();
+    protected long targetTime;
+
     //Shooting
     protected float delayMS = (1000/ MainMenuScreen.gunturretFrequence.get());
     protected long startTime;
@@ -71,7 +74,11 @@ public class GunTurret extends AbstractTurret {
     /**
      * This method updates everytime the render method of its GameScreen gets called.
      * Updates the upper class.
-     * Calls shoot after the given delay and calls rotation method for the first enemy in range.
+     * Calls shoot after the given delay and calls rotation method for the target. The target is chosen by the
+     * targeting strategy, by default the first enemy in range, which is the enemy furthest on its way. It is only
+     * searched again, if the target is lost or the retarget interval is over, otherwise keeping the target costs one
+     * distance check. The target is chosen out of the enemies on the tiles covered by the turret, while no enemy stands
+     * on them, nothing is searched at all.
      *
      * @param delta the time since the last rendering.
      *
@@ -79,15 +86,19 @@ public class GunTurret extends AbstractTurret {
      */
     public void update(float delta) {
         super.update(delta);
-        enemies = getEnemiesInRange(radius, position.x, position.y);
+        if (getCoveredEnemies().isEmpty()) {
+            fastestEnemy = null;
+        } else if (!isTargetValid() || TimeUtils.timeSinceMillis(targetTime) >= retargetMS) {
+            fastestEnemy = world.findTarget(strategy, getCoveredEnemies(), radius, position.x, position.y);
+            targetTime = TimeUtils.millis();
+        }
 
-        if (enemies.size() > 0) {
-            fastestEnemy = findFastestEnemy(enemies);
+        if (fastestEnemy != null) {
             rotation = setRotation(fastestEnemy);
         }
 
         //shoot bullets in time intervals
-        if (enemies.size() > 0) {
+        if (fastestEnemy != null) {
             if (TimeUtils.timeSinceMillis(startTime) > delayMS) {
                 shoot(fastestEnemy);
                 startTime = TimeUtils.millis();
@@ -95,56 +106,47 @@ public class GunTurret extends AbstractTurret {
         }
 
         turretScene.modelInstance.transform.setToTranslation(position.x, screen.groundTileDimensions.y, position.y).scl(scaling)
-                .rotate(new Vector3(0.0f, 1.0f, 0.0f), rotation);
+                .rotate(Vector3.Y, rotation);
     }
 
 
     /**
-     * Returns the enemy which is the furthest on the path in the turrets range.
-     *
-     * @param enemies the enemies that are within the turrets range.
-     *
-     * @return the first enemy in range.
+     * Checks if the turret can keep its target, because the target is still in range and not killed by the projectiles
+     * already flying to it.
      *
-     * @author Mattis Bühler
+     * @return if the target is valid.
      */
-    public GameObjectEnemy findFastestEnemy(ArrayList<GameObjectEnemy> enemies) {
-
-        int counterMax = enemies.get(0).getCounter();
-        int indexFastest = 0;
-        float distanceMin = enemies.get(indexFastest).getDistanceToPoint();
-
-        ArrayList<GameObjectEnemy> minCounterEnemies = new ArrayList<>();
-
-        //get lowest counter value
-        for (int i = 1; i<enemies.size(); i++) {
-            if (enemies.get(i).getCounter() > counterMax) {
-                counterMax = enemies.get(i).getCounter();
-            }
-        }
-
-        //get all enemies with the lowest counter value
-        for (GameObjectEnemy enemy : enemies) {
-            if (enemy.getCounter() == counterMax) {
-                minCounterEnemies.add(enemy);
-            }
-        }
-
-        //if there's only one enemy in the list, we return it
-        if (minCounterEnemies.size() == 1) {
-            return minCounterEnemies.get(0);
-        }
+    protected boolean isTargetValid() {
+        return fastestEnemy != null && fastestEnemy.getLifePoints() > 0 && !fastestEnemy.isDoomed()
+                && !fastestEnemy.destroyMe && world.checkInRange(fastestEnemy, radius, position.x, position.y);
+    }
 
-        //get the enemy with the lowest distance, out of the enemies with the lowest counter
-        for (int i = 1; i<minCounterEnemies.size(); i++) {
-            if (minCounterEnemies.get(i).getDistanceToPoint() < distanceMin) {
-                distanceMin = minCounterEnemies.get(i).getDistanceToPoint();
-                indexFastest = i;
-            }
-        }
+    /**
+     * Sets the strategy, which chooses the enemy in range the turret aims at. The new strategy chooses the next target.
+     *
+     * @param strategy the new targeting strategy.
+     */
+    public void setStrategy(TargetingStrategy strategy) {
+        this.strategy = strategy;
+        fastestEnemy = null;
+    }
 
-        return minCounterEnemies.get(indexFastest);
+    /**
+     * Returns the strategy, which chooses the enemy in range the turret aims at.
+     *
+     * @return the targeting strategy.
+     */
+    public TargetingStrategy getStrategy() {
+        return strategy;
+    }
 
+    /**
+     * Returns the current target of the turret, for example for debugging.
+     *
+     * @return the target or null, if the turret has no target.
+     */
+    public GameObjectEnemy getTarget() {
+        return fastestEnemy;
     }
 
     /**
@@ -224,7 +226,8 @@ public class GunTurret extends AbstractTurret {
      * @author Mattis Bühler
      */
     public void shoot(GameObjectEnemy enemy) {
-        Bullet bullet = new Bullet(enemy, screen, world, position, rotation, true);
+        Bullet bullet = world.getBulletPool().obtain();
+        bullet.fire(enemy, position, rotation);
         world.addBullet(bullet);
     }
 
@@ -2,14 +2,12 @@ package io.swapastack.dunetd.world.placeable.turret;
 
 import com.badlogic.gdx.graphics.g3d.utils.AnimationController;
 import com.badlogic.gdx.math.Vector3;
-import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
 import io.swapastack.dunetd.world.GameWorld;
 import io.swapastack.dunetd.screens.GameScreen;
 import io.swapastack.dunetd.screens.MainMenuScreen;
 import net.mgsx.gltf.scene3d.scene.Scene;
 
 import java.awt.*;
-import java.util.ArrayList;
 
 /**
  * This is the SoundTurret class.
@@ -18,9 +16,6 @@ import java.util.ArrayList;
  */
 public class SoundTurret extends AbstractTurret {
 
-    //Enemies
-    ArrayList<GameObjectEnemy> enemies;
-
     //AnimationController
     AnimationController acSoundTurret;
 
@@ -52,7 +47,8 @@ public class SoundTurret extends AbstractTurret {
 
     /**
      * This method is called everytime the render method of its GameScreen is called as long the game is still running.
-     * Sets the state of all enemies in range to isSlowed.
+     * The enemies in range are slowed down by the slow field of the world, the turret only plays its animation while
+     * enemies are near it.
      *
      * @param delta the time since the last rendering.
      *
@@ -60,14 +56,8 @@ public class SoundTurret extends AbstractTurret {
      */
     public void update(float delta) {
         super.update(delta);
-        enemies = getEnemiesInRange(radius, position.x, position.y);
-        for (GameObjectEnemy enemy : enemies) {
-            enemy.isSlowed = true;
-        }
-
-        if (enemies.size() != 0) {
+        if (!getCoveredEnemies().isEmpty()) {
             acSoundTurret.update(delta);
         }
     }
 }
-
@@ -0,0 +1,85 @@
+package io.swapastack.dunetd.world.placeable.turret;
+
+import io.swapastack.dunetd.world.GameWorld;
+import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
+
+import java.util.ArrayList;
+
+/**
+ * The TargetingStrategy enum.
+ * Decides which enemy in range a turret aims at. The candidates are the enemies on the tiles covered by the turret in
+ * the order of their progress, which the world keeps up to date anyway, so FIRST and LAST take the first candidate in
+ * range from one end. STRONGEST and WEAKEST walk the enemies of the world ordered by their life points from one end in
+ * the same way, and CLOSEST and MOST_CLUSTERED are answered by the enemy grid around the turret.
+ *
+ * @author Mattis Bühler
+ */
+public enum TargetingStrategy {
+    //The enemy furthest on its way
+    FIRST {
+        @Override
+        public GameObjectEnemy findTarget(GameWorld world, ArrayList<GameObjectEnemy> candidates, float radius,
+                                          float xPos, float yPos) {
+            return world.findFirstEnemyInRange(candidates, radius, xPos, yPos);
+        }
+    },
+
+    //The enemy least far on its way
+    LAST {
+        @Override
+        public GameObjectEnemy findTarget(GameWorld world, ArrayList<GameObjectEnemy> candidates, float radius,
+                                          float xPos, float yPos) {
+            return world.findLastEnemyInRange(candidates, radius, xPos, yPos);
+        }
+    },
+
+    //The enemy with the most life points
+    STRONGEST {
+        @Override
+        public GameObjectEnemy findTarget(GameWorld world, ArrayList<GameObjectEnemy> candidates, float radius,
+                                          float xPos, float yPos) {
+            return world.findStrongestEnemyInRange(radius, xPos, yPos);
+        }
+    },
+
+    //The enemy with the least life points
+    WEAKEST {
+        @Override
+        public GameObjectEnemy findTarget(GameWorld world, ArrayList<GameObjectEnemy> candidates, float radius,
+                                          float xPos, float yPos) {
+            return world.findWeakestEnemyInRange(radius, xPos, yPos);
+        }
+    },
+
+    //The enemy closest to the turret
+    CLOSEST {
+        @Override
+        public GameObjectEnemy findTarget(GameWorld world, ArrayList<GameObjectEnemy> candidates, float radius,
+                                          float xPos, float yPos) {
+            return world.findClosestEnemyInRange(radius, xPos, yPos);
+        }
+    },
+
+    //An enemy on the tile with the most enemies, for turrets with splash damage
+    MOST_CLUSTERED {
+        @Override
+        public GameObjectEnemy findTarget(GameWorld world, ArrayList<GameObjectEnemy> candidates, float radius,
+                                          float xPos, float yPos) {
+            return world.findMostClusteredEnemyInRange(radius, xPos, yPos);
+        }
+    };
+
+    /**
+     * Returns the enemy in range, a turret with this strategy aims at.
+     *
+     * @param world the world of the turret.
+     * @param candidates the enemies near the turret in the order of their progress.
+     * @param radius the range of the turret.
+     * @param xPos the x coordinate of the turret.
+     * @param yPos the y coordinate of the turret.
+     *
+     * @return the target or null, if there is no enemy in range.
+     */
+    public abstract GameObjectEnemy findTarget(GameWorld world, ArrayList<GameObjectEnemy> candidates, float radius,
+                                               float xPos, float yPos);
+}
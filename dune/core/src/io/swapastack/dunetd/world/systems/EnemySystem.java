@@ -0,0 +1,50 @@
+package io.swapastack.dunetd.world.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import io.swapastack.dunetd.world.GameWorld;
+import io.swapastack.dunetd.world.components.EnemyComponent;
+import io.swapastack.dunetd.world.enemies.GameObjectEnemy;
+
+/**
+ * The EnemySystem class.
+ * Moves every entity with an enemy and removes the enemies, which died or reached an endportal, from the world.
+ *
+ * @author Mattis Bühler
+ */
+public class EnemySystem extends IteratingSystem {
+    //GameWorld
+    private final GameWorld world;
+
+    //Mapper
+    private final ComponentMapper<EnemyComponent> enemies = ComponentMapper.getFor(EnemyComponent.class);
+
+    /**
+     * The constructor of the EnemySystem class.
+     *
+     * @param world the world of the enemies.
+     * @param priority the priority of the system, systems with a lower priority are updated first.
+     */
+    public EnemySystem(GameWorld world, int priority) {
+        super(Family.all(EnemyComponent.class).get(), priority);
+        this.world = world;
+    }
+
+    /**
+     * Updates the enemy of an entity and removes it, if it is destroyed.
+     *
+     * @param entity the entity of the enemy.
+     * @param deltaTime the time in seconds since the last render.
+     */
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        GameObjectEnemy enemy = enemies.get(entity).enemy;
+        enemy.update(deltaTime);
+        if (enemy.destroyMe) {
+            world.removeEnemy(enemy);
+            getEngine().removeEntity(entity);
+        }
+    }
+}
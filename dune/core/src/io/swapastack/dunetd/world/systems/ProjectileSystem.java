@@ -0,0 +1,46 @@
+package io.swapastack.dunetd.world.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import io.swapastack.dunetd.world.components.ProjectileComponent;
+import io.swapastack.dunetd.world.placeable.turret.Bullet;
+
+/**
+ * The ProjectileSystem class.
+ * Moves every entity with a bullet or bomb and removes it, when it hit an enemy or left the field. The removed bullet
+ * goes back to its pool.
+ *
+ * @author Mattis Bühler
+ */
+public class ProjectileSystem extends IteratingSystem {
+    //Mapper
+    private final ComponentMapper<ProjectileComponent> projectiles = ComponentMapper.getFor(ProjectileComponent.class);
+
+    /**
+     * The constructor of the ProjectileSystem class.
+     *
+     * @param priority the priority of the system, systems with a lower priority are updated first.
+     */
+    public ProjectileSystem(int priority) {
+        super(Family.all(ProjectileComponent.class).get(), priority);
+    }
+
+    /**
+     * Updates the bullet of an entity and removes it, if it is destroyed. The turrets are updated before the
+     * projectiles, so the bullet is fired again in the next frame at the earliest, when the entity is removed.
+     *
+     * @param entity the entity of the bullet.
+     * @param deltaTime the time in seconds since the last render.
+     */
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        Bullet bullet = projectiles.get(entity).bullet;
+        bullet.update();
+        if (bullet.destroyMe) {
+            getEngine().removeEntity(entity);
+            bullet.free();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.swapastack.dunetd.world.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import io.swapastack.dunetd.world.GameWorld;
+import io.swapastack.dunetd.world.components.TurretComponent;
+import io.swapastack.dunetd.world.placeable.turret.AbstractTurret;
+
+/**
+ * The TurretSystem class.
+ * Lets every entity with a turret aim and shoot at the enemies in range and removes the destroyed turrets from the
+ * world.
+ *
+ * @author Mattis Bühler
+ */
+public class TurretSystem extends IteratingSystem {
+    //GameWorld
+    private final GameWorld world;
+
+    //Mapper
+    private final ComponentMapper<TurretComponent> turrets = ComponentMapper.getFor(TurretComponent.class);
+
+    /**
+     * The constructor of the TurretSystem class.
+     *
+     * @param world the world of the turrets.
+     * @param priority the priority of the system, systems with a lower priority are updated first.
+     */
+    public TurretSystem(GameWorld world, int priority) {
+        super(Family.all(TurretComponent.class).get(), priority);
+        this.world = world;
+    }
+
+    /**
+     * Updates the turret of an entity and removes it, if it is destroyed.
+     *
+     * @param entity the entity of the turret.
+     * @param deltaTime the time in seconds since the last render.
+     */
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        AbstractTurret turret = turrets.get(entity).turret;
+        turret.update(deltaTime);
+        if (turret.destroyMe) {
+            world.removeTurret(turret);
+            getEngine().removeEntity(entity);
+        }
+    }
+}
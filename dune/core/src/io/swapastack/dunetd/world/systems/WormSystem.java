@@ -0,0 +1,43 @@
+package io.swapastack.dunetd.world.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import io.swapastack.dunetd.world.components.WormComponent;
+import io.swapastack.dunetd.world.placeable.shaiHulud.ShaiHulud;
+
+/**
+ * The WormSystem class.
+ * Moves every entity with a ShaiHulud over the field and removes it, when it reached the end of its way.
+ *
+ * @author Mattis Bühler
+ */
+public class WormSystem extends IteratingSystem {
+    //Mapper
+    private final ComponentMapper<WormComponent> worms = ComponentMapper.getFor(WormComponent.class);
+
+    /**
+     * The constructor of the WormSystem class.
+     *
+     * @param priority the priority of the system, systems with a lower priority are updated first.
+     */
+    public WormSystem(int priority) {
+        super(Family.all(WormComponent.class).get(), priority);
+    }
+
+    /**
+     * Updates the ShaiHulud of an entity and removes it, if it is destroyed.
+     *
+     * @param entity the entity of the ShaiHulud.
+     * @param deltaTime the time in seconds since the last render.
+     */
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        ShaiHulud shaiHulud = worms.get(entity).shaiHulud;
+        shaiHulud.update();
+        if (shaiHulud.destroyMe) {
+            getEngine().removeEntity(entity);
+        }
+    }
+}